@@ -0,0 +1,427 @@
+package bootstrap.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// mirrors what TableDefinition resolves reflectively, entities it cannot describe safely are left to reflection
+@SupportedAnnotationTypes(EntityIndexProcessor.ENTITY_ANNOTATION)
+public class EntityDescriptorProcessor extends AbstractProcessor {
+    static final String DESCRIPTOR_SUFFIX = "_Descriptor";
+
+    private static final String PERSISTENCE = "jakarta.persistence.";
+    private static final int DEFAULT_LENGTH = 255;
+    private static final Set<String> ASSOCIATIONS = Set.of(
+            PERSISTENCE + "OneToMany", PERSISTENCE + "ManyToMany", PERSISTENCE + "OneToOne", PERSISTENCE + "ManyToOne"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (TypeElement entity : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (isDescribable(entity)) {
+                    write(entity);
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isDescribable(TypeElement entity) {
+        if (entity.getKind() != ElementKind.CLASS
+                || entity.getNestingKind() != NestingKind.TOP_LEVEL
+                || entity.getModifiers().contains(Modifier.PRIVATE)
+                || !entity.getTypeParameters().isEmpty()) {
+            return false;
+        }
+
+        final boolean instantiable = ElementFilter.constructorsIn(entity.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        final long ids = fields(entity).stream().filter(field -> hasAnnotation(field, "Id")).count();
+        final boolean accessibleTypes = fields(entity).stream().allMatch(field -> isAccessible(field.asType()));
+        // reflection rejects a collection that is neither an association nor transient, with a clear message
+        final boolean mappedCollections = fields(entity).stream()
+                .filter(field -> !hasAnnotation(field, "Transient") && isCollection(field))
+                .allMatch(field -> ASSOCIATIONS.stream().anyMatch(name -> findAnnotation(field, name).isPresent()));
+        return instantiable && ids == 1 && accessibleTypes && mappedCollections;
+    }
+
+    private boolean isAccessible(TypeMirror type) {
+        final TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) erased).getComponentType());
+        }
+        if (erased.getKind() != TypeKind.DECLARED) {
+            return erased.getKind().isPrimitive();
+        }
+
+        Element element = ((DeclaredType) erased).asElement();
+        while (element instanceof TypeElement) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private List<VariableElement> fields(TypeElement entity) {
+        return ElementFilter.fieldsIn(entity.getEnclosedElements()).stream()
+                .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+                .toList();
+    }
+
+    private void write(TypeElement entity) {
+        final String packageName = ((PackageElement) entity.getEnclosingElement()).getQualifiedName().toString();
+        final String entityName = entity.getSimpleName().toString();
+        final String descriptorName = entityName + DESCRIPTOR_SUFFIX;
+        final List<VariableElement> fields = fields(entity);
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import jakarta.persistence.FetchType;\n")
+                .append("import jakarta.persistence.GenerationType;\n")
+                .append("import persistence.sql.definition.EntityDescriptor;\n\n")
+                .append("import java.lang.invoke.MethodHandles;\n")
+                .append("import java.lang.invoke.VarHandle;\n")
+                .append("import java.util.List;\n\n")
+                .append("public final class ").append(descriptorName).append(" implements EntityDescriptor {\n");
+
+        appendHandles(source, entityName, fields);
+        appendMetadata(source, entity, entityName, fields);
+        appendAccessors(source, entityName, fields);
+        source.append("}\n");
+
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? descriptorName : packageName + "." + descriptorName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write descriptor for " + entity + ": " + e.getMessage(), entity);
+        }
+    }
+
+    // private fields go through VarHandles, which the JIT treats like direct field access
+    private void appendHandles(StringBuilder source, String entityName, List<VariableElement> fields) {
+        final List<VariableElement> privateFields = fields.stream()
+                .filter(field -> field.getModifiers().contains(Modifier.PRIVATE))
+                .toList();
+        if (privateFields.isEmpty()) {
+            return;
+        }
+
+        for (VariableElement field : privateFields) {
+            source.append("    private static final VarHandle ").append(handleName(field)).append(";\n");
+        }
+        source.append("\n    static {\n")
+                .append("        try {\n")
+                .append("            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(")
+                .append(entityName).append(".class, MethodHandles.lookup());\n");
+        for (VariableElement field : privateFields) {
+            source.append("            ").append(handleName(field)).append(" = lookup.findVarHandle(")
+                    .append(entityName).append(".class, \"").append(field.getSimpleName()).append("\", ")
+                    .append(erasure(field.asType())).append(".class);\n");
+        }
+        source.append("        } catch (ReflectiveOperationException e) {\n")
+                .append("            throw new ExceptionInInitializerError(e);\n")
+                .append("        }\n")
+                .append("    }\n\n");
+    }
+
+    private void appendMetadata(StringBuilder source, TypeElement entity, String entityName, List<VariableElement> fields) {
+        final List<String> columns = new ArrayList<>();
+        final List<String> associations = new ArrayList<>();
+        final List<String> indexes = tableIndexes(entity);
+        for (VariableElement field : fields) {
+            if (hasAnnotation(field, "Transient")) {
+                continue;
+            }
+            if (isCollection(field)) {
+                if (ASSOCIATIONS.stream().anyMatch(name -> findAnnotation(field, name).isPresent())) {
+                    associations.add(association(field));
+                }
+                continue;
+            }
+            columns.add(column(field));
+            uniqueColumnIndex(field).ifPresent(indexes::add);
+        }
+
+        source.append("    private static final List<Column> COLUMNS = List.of(\n")
+                .append(String.join(",\n", columns)).append("\n    );\n\n")
+                .append("    private static final List<Association> ASSOCIATIONS = List.of(\n")
+                .append(String.join(",\n", associations)).append("\n    );\n\n")
+                .append("    private static final List<Index> INDEXES = List.of(\n")
+                .append(String.join(",\n", indexes)).append("\n    );\n\n");
+
+        source.append("    @Override\n    public Class<?> getEntityClass() {\n        return ")
+                .append(entityName).append(".class;\n    }\n\n")
+                .append("    @Override\n    public String getTableName() {\n        return ")
+                .append(literal(tableName(entity))).append(";\n    }\n\n")
+                .append("    @Override\n    public List<Column> getColumns() {\n        return COLUMNS;\n    }\n\n")
+                .append("    @Override\n    public List<Association> getAssociations() {\n        return ASSOCIATIONS;\n    }\n\n")
+                .append("    @Override\n    public List<Index> getIndexes() {\n        return INDEXES;\n    }\n\n");
+    }
+
+    // same order as TableDefinition: @Table indexes, unique constraints, then unique columns
+    @SuppressWarnings("unchecked")
+    private List<String> tableIndexes(TypeElement entity) {
+        final List<String> indexes = new ArrayList<>();
+        final Optional<AnnotationMirror> table = findAnnotation(entity, PERSISTENCE + "Table");
+        if (table.isEmpty()) {
+            return indexes;
+        }
+
+        for (AnnotationValue value : (List<? extends AnnotationValue>) value(table.get(), "indexes")) {
+            final AnnotationMirror index = (AnnotationMirror) value.getValue();
+            final List<String> columnNames = new ArrayList<>();
+            for (String column : ((String) value(index, "columnList")).split(",")) {
+                if (!column.isBlank()) {
+                    columnNames.add(column.strip());
+                }
+            }
+            indexes.add(index((String) value(index, "name"), columnNames, (Boolean) value(index, "unique")));
+        }
+
+        for (AnnotationValue value : (List<? extends AnnotationValue>) value(table.get(), "uniqueConstraints")) {
+            final AnnotationMirror constraint = (AnnotationMirror) value.getValue();
+            final List<String> columnNames = new ArrayList<>();
+            for (AnnotationValue column : (List<? extends AnnotationValue>) value(constraint, "columnNames")) {
+                columnNames.add((String) column.getValue());
+            }
+            indexes.add(index((String) value(constraint, "name"), columnNames, true));
+        }
+        return indexes;
+    }
+
+    private Optional<String> uniqueColumnIndex(VariableElement field) {
+        return findAnnotation(field, PERSISTENCE + "Column")
+                .filter(mirror -> (Boolean) value(mirror, "unique"))
+                .map(mirror -> {
+                    final String name = (String) value(mirror, "name");
+                    return index("", List.of(name.isEmpty() ? field.getSimpleName().toString() : name), true);
+                });
+    }
+
+    private String index(String name, List<String> columnNames, boolean unique) {
+        final List<String> literals = columnNames.stream().map(this::literal).toList();
+        return "            new Index(" + literal(name) + ", List.of(" + String.join(", ", literals) + "), " + unique + ")";
+    }
+
+    private String column(VariableElement field) {
+        final Optional<AnnotationMirror> column = findAnnotation(field, PERSISTENCE + "Column");
+        final String name = column.map(mirror -> (String) value(mirror, "name"))
+                .filter(value -> !value.isEmpty())
+                .orElse(field.getSimpleName().toString());
+        final boolean nullable = column.map(mirror -> (Boolean) value(mirror, "nullable")).orElse(true);
+        final int length = column.map(mirror -> (Integer) value(mirror, "length")).orElse(DEFAULT_LENGTH);
+        final int precision = column.map(mirror -> (Integer) value(mirror, "precision")).orElse(0);
+        final int scale = column.map(mirror -> (Integer) value(mirror, "scale")).orElse(0);
+        final boolean id = hasAnnotation(field, "Id");
+        final String generationType = findAnnotation(field, PERSISTENCE + "GeneratedValue")
+                .map(mirror -> value(mirror, "strategy").toString())
+                .orElse("AUTO");
+
+        return "            new Column(" + literal(field.getSimpleName().toString()) + ", " + literal(name) + ", "
+                + literal(simpleTypeName(field.asType())) + ", " + nullable + ", " + length + ", " + precision + ", " + scale
+                + ", " + id
+                + ", GenerationType." + generationType + ")";
+    }
+
+    private String association(VariableElement field) {
+        final List<? extends TypeMirror> typeArguments = ((DeclaredType) field.asType()).getTypeArguments();
+        final String associatedType = erasure(typeArguments.get(0));
+        final String joinColumnName = findAnnotation(field, PERSISTENCE + "JoinColumn")
+                .map(mirror -> (String) value(mirror, "name"))
+                .orElse("");
+        final String fetchType = findAnnotation(field, PERSISTENCE + "OneToMany")
+                .or(() -> findAnnotation(field, PERSISTENCE + "ManyToMany"))
+                .map(mirror -> value(mirror, "fetch").toString())
+                .orElse("EAGER");
+
+        return "            new Association(" + literal(field.getSimpleName().toString()) + ", " + associatedType
+                + ".class, " + literal(joinColumnName) + ", FetchType." + fetchType + ")";
+    }
+
+    private void appendAccessors(StringBuilder source, String entityName, List<VariableElement> fields) {
+        source.append("    @Override\n    public Object newInstance() {\n        return new ")
+                .append(entityName).append("();\n    }\n\n");
+
+        source.append("    @Override\n    public Object getValue(Object entity, String fieldName) {\n")
+                .append("        final ").append(entityName).append(" target = (").append(entityName).append(") entity;\n")
+                .append("        return switch (fieldName) {\n");
+        for (VariableElement field : fields) {
+            source.append("            case ").append(literal(field.getSimpleName().toString())).append(" -> ");
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                source.append("(Object) ").append(handleName(field)).append(".get(target);\n");
+            } else {
+                source.append("target.").append(field.getSimpleName()).append(";\n");
+            }
+        }
+        source.append("            default -> null;\n")
+                .append("        };\n    }\n\n");
+
+        source.append("    @Override\n    public void setValue(Object entity, String fieldName, Object value) {\n")
+                .append("        final ").append(entityName).append(" target = (").append(entityName).append(") entity;\n")
+                .append("        switch (fieldName) {\n");
+        for (VariableElement field : fields) {
+            source.append("            case ").append(literal(field.getSimpleName().toString())).append(" -> ");
+            final String cast = "(" + boxedErasure(field.asType()) + ") value";
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                source.append("throw new IllegalArgumentException(\"Final field ")
+                        .append(field.getSimpleName()).append(" of ").append(entityName).append("\");\n");
+            } else if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                source.append(handleName(field)).append(".set(target, ").append(cast).append(");\n");
+            } else {
+                source.append("target.").append(field.getSimpleName()).append(" = ").append(cast).append(";\n");
+            }
+        }
+        source.append("            default -> throw new IllegalArgumentException(\"Unknown field \" + fieldName + \" of ")
+                .append(entityName).append("\");\n")
+                .append("        }\n    }\n");
+
+        appendPrimitiveSetter(source, entityName, fields, TypeKind.LONG, "setLong", "long");
+        appendPrimitiveSetter(source, entityName, fields, TypeKind.INT, "setInt", "int");
+        appendPrimitiveSetter(source, entityName, fields, TypeKind.BOOLEAN, "setBoolean", "boolean");
+        appendPrimitiveSetter(source, entityName, fields, TypeKind.DOUBLE, "setDouble", "double");
+    }
+
+    // rows hydrate primitive columns through these, so the value is never boxed
+    private void appendPrimitiveSetter(StringBuilder source, String entityName, List<VariableElement> fields,
+                                       TypeKind kind, String methodName, String typeName) {
+        final List<VariableElement> primitives = fields.stream()
+                .filter(field -> field.asType().getKind() == kind)
+                .filter(field -> !field.getModifiers().contains(Modifier.FINAL))
+                .toList();
+        if (primitives.isEmpty()) {
+            return;
+        }
+
+        source.append("\n    @Override\n    public void ").append(methodName).append("(Object entity, String fieldName, ")
+                .append(typeName).append(" value) {\n")
+                .append("        final ").append(entityName).append(" target = (").append(entityName).append(") entity;\n")
+                .append("        switch (fieldName) {\n");
+        for (VariableElement field : primitives) {
+            source.append("            case ").append(literal(field.getSimpleName().toString())).append(" -> ");
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                source.append(handleName(field)).append(".set(target, value);\n");
+            } else {
+                source.append("target.").append(field.getSimpleName()).append(" = value;\n");
+            }
+        }
+        source.append("            default -> EntityDescriptor.super.").append(methodName)
+                .append("(entity, fieldName, value);\n")
+                .append("        }\n    }\n");
+    }
+
+    private String tableName(TypeElement entity) {
+        return findAnnotation(entity, PERSISTENCE + "Table")
+                .map(mirror -> (String) value(mirror, "name"))
+                .filter(name -> !name.isEmpty())
+                .or(() -> findAnnotation(entity, PERSISTENCE + "Entity")
+                        .map(mirror -> (String) value(mirror, "name"))
+                        .filter(name -> !name.isEmpty()))
+                .orElse(entity.getSimpleName().toString());
+    }
+
+    private boolean isCollection(VariableElement field) {
+        final TypeElement collection = processingEnv.getElementUtils().getTypeElement("java.util.Collection");
+        return processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(field.asType()),
+                processingEnv.getTypeUtils().erasure(collection.asType())
+        );
+    }
+
+    // SqlType is resolved from Class.getSimpleName() on the reflective path
+    private String simpleTypeName(TypeMirror type) {
+        final TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return ((DeclaredType) erased).asElement().getSimpleName().toString();
+        }
+        return erased.toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String boxedErasure(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        }
+        return erasure(type);
+    }
+
+    private String handleName(VariableElement field) {
+        return field.getSimpleName().toString().toUpperCase(Locale.ROOT) + "_HANDLE";
+    }
+
+    private boolean hasAnnotation(Element element, String simpleName) {
+        return findAnnotation(element, PERSISTENCE + simpleName).isPresent();
+    }
+
+    private Optional<AnnotationMirror> findAnnotation(Element element, String qualifiedName) {
+        return element.getAnnotationMirrors().stream()
+                .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement())
+                        .getQualifiedName().contentEquals(qualifiedName))
+                .map(mirror -> (AnnotationMirror) mirror)
+                .findFirst();
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        final Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                final Object value = entry.getValue().getValue();
+                if (value instanceof VariableElement constant) {
+                    return constant.getSimpleName().toString();
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("No attribute " + name + " on " + mirror);
+    }
+
+    private String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
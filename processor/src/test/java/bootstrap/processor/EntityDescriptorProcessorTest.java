@@ -0,0 +1,184 @@
+package bootstrap.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class EntityDescriptorProcessorTest {
+    @TempDir
+    Path output;
+
+    @Test
+    @DisplayName("엔티티마다 컬럼, 연관관계, 접근 코드를 담은 디스크립터를 생성한다.")
+    void generateDescriptor() throws IOException {
+        compile(source("sample.Order", """
+                package sample;
+                import jakarta.persistence.*;
+                import java.util.List;
+                @Entity @Table(name = "orders", uniqueConstraints = @UniqueConstraint(columnNames = {"orderNumber", "id"}),
+                        indexes = @Index(name = "idx_order_number", columnList = "orderNumber, id DESC"))
+                public class Order {
+                    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) @Column(name = "order_id")
+                    private Long id;
+                    @Column(nullable = false, length = 20, unique = true)
+                    String orderNumber;
+                    @Transient
+                    private Integer index;
+                    @Column(precision = 10, scale = 4)
+                    private java.math.BigDecimal amount;
+                    @OneToMany @JoinColumn(name = "order_id")
+                    private List<Item> items;
+                }
+                """), source("sample.Item", """
+                package sample;
+                @jakarta.persistence.Entity
+                public class Item {
+                    @jakarta.persistence.Id
+                    private Long id;
+                }
+                """));
+
+        String descriptor = Files.readString(output.resolve("sample/Order_Descriptor.java"));
+
+        assertAll(
+                () -> assertThat(descriptor).contains("return \"orders\";"),
+                () -> assertThat(descriptor).contains(
+                        "new Column(\"id\", \"order_id\", \"Long\", true, 255, 0, 0, true, GenerationType.IDENTITY)"),
+                () -> assertThat(descriptor).contains(
+                        "new Column(\"orderNumber\", \"orderNumber\", \"String\", false, 20, 0, 0, false, GenerationType.AUTO)"),
+                () -> assertThat(descriptor).contains(
+                        "new Column(\"amount\", \"amount\", \"BigDecimal\", true, 255, 10, 4, false, GenerationType.AUTO)"),
+                () -> assertThat(descriptor).doesNotContain("new Column(\"index\""),
+                () -> assertThat(descriptor).contains(
+                        "new Association(\"items\", sample.Item.class, \"order_id\", FetchType.LAZY)"),
+                () -> assertThat(descriptor).contains("case \"orderNumber\" -> target.orderNumber = (java.lang.String) value;"),
+                () -> assertThat(descriptor).contains("case \"id\" -> ID_HANDLE.set(target, (java.lang.Long) value);"),
+                () -> assertThat(descriptor).contains(
+                        "new Index(\"idx_order_number\", List.of(\"orderNumber\", \"id DESC\"), false)"),
+                () -> assertThat(descriptor).contains("new Index(\"\", List.of(\"orderNumber\", \"id\"), true)"),
+                () -> assertThat(descriptor).contains("new Index(\"\", List.of(\"orderNumber\"), true)"),
+                () -> assertThat(descriptor).contains("return new Order();")
+        );
+    }
+
+    @Test
+    @DisplayName("기본 생성자가 private인 엔티티는 리플렉션에 맡긴다.")
+    void skipWithoutAccessibleConstructor() {
+        compile(source("sample.Hidden", """
+                package sample;
+                @jakarta.persistence.Entity
+                public class Hidden {
+                    @jakarta.persistence.Id
+                    private Long id;
+                    private Hidden() {}
+                }
+                """));
+
+        assertThat(Files.exists(output.resolve("sample/Hidden_Descriptor.java"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("연관관계가 아닌 컬렉션 필드를 가진 엔티티는 리플렉션에 맡긴다.")
+    void skipWithUnmappedCollection() {
+        compile(source("sample.Tagged", """
+                package sample;
+                @jakarta.persistence.Entity
+                public class Tagged {
+                    @jakarta.persistence.Id
+                    private Long id;
+                    private java.util.List<String> tags;
+                }
+                """));
+
+        assertThat(Files.exists(output.resolve("sample/Tagged_Descriptor.java"))).isFalse();
+    }
+
+    private void compile(JavaFileObject... entities) {
+        final List<JavaFileObject> sources = new ArrayList<>(persistenceApi());
+        sources.addAll(List.of(entities));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+                List.of("-s", output.toString(), "-d", output.toString(), "-proc:only"), null, sources);
+        task.setProcessors(List.of(new EntityDescriptorProcessor()));
+
+        assertThat(task.call()).isTrue();
+    }
+
+    // the processor module does not see jakarta.persistence or the main source set
+    private List<JavaFileObject> persistenceApi() {
+        return List.of(
+                annotation("Entity", "String name() default \"\";"),
+                annotation("Table", "String name() default \"\"; Index[] indexes() default {};"
+                        + " UniqueConstraint[] uniqueConstraints() default {};"),
+                annotation("Index", "String name() default \"\"; String columnList(); boolean unique() default false;"),
+                annotation("UniqueConstraint", "String name() default \"\"; String[] columnNames();"),
+                annotation("Id", ""),
+                annotation("Transient", ""),
+                annotation("JoinColumn", "String name() default \"\";"),
+                annotation("Column", "String name() default \"\"; boolean nullable() default true; int length() default 255;"
+                        + " boolean unique() default false; int precision() default 0; int scale() default 0;"),
+                annotation("GeneratedValue", "GenerationType strategy() default GenerationType.AUTO;"),
+                annotation("OneToMany", "FetchType fetch() default FetchType.LAZY;"),
+                source("jakarta.persistence.GenerationType", """
+                        package jakarta.persistence;
+                        public enum GenerationType { AUTO, IDENTITY }
+                        """),
+                source("jakarta.persistence.FetchType", """
+                        package jakarta.persistence;
+                        public enum FetchType { LAZY, EAGER }
+                        """),
+                source("persistence.sql.definition.EntityDescriptor", """
+                        package persistence.sql.definition;
+                        import jakarta.persistence.*;
+                        import java.util.List;
+                        public interface EntityDescriptor {
+                            Class<?> getEntityClass();
+                            String getTableName();
+                            List<Column> getColumns();
+                            List<Association> getAssociations();
+                            List<Index> getIndexes();
+                            Object newInstance();
+                            Object getValue(Object entity, String fieldName);
+                            void setValue(Object entity, String fieldName, Object value);
+                            record Column(String fieldName, String columnName, String javaTypeName, boolean nullable,
+                                          int length, int precision, int scale, boolean id,
+                                          GenerationType generationType) {}
+                            record Association(String fieldName, Class<?> associatedEntityClass, String joinColumnName,
+                                               FetchType fetchType) {}
+                            record Index(String name, List<String> columnNames, boolean unique) {}
+                        }
+                        """)
+        );
+    }
+
+    private JavaFileObject annotation(String name, String members) {
+        return source("jakarta.persistence." + name,
+                "package jakarta.persistence;\npublic @interface " + name + " { " + members + " }\n");
+    }
+
+    private JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
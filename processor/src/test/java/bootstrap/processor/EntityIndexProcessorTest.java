@@ -0,0 +1,81 @@
+package bootstrap.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityIndexProcessorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    @DisplayName("@Entity가 붙은 클래스만 인덱스에 기록한다.")
+    void writeIndex() throws IOException {
+        compile(
+                source("jakarta.persistence.Entity", """
+                        package jakarta.persistence;
+                        public @interface Entity {}
+                        """),
+                source("sample.Order", """
+                        package sample;
+                        @jakarta.persistence.Entity
+                        public class Order {
+                            @jakarta.persistence.Entity
+                            public static class Item {}
+                        }
+                        """),
+                source("sample.Plain", """
+                        package sample;
+                        public class Plain {}
+                        """)
+        );
+
+        List<String> index = Files.readAllLines(output.resolve(EntityIndexProcessor.INDEX_LOCATION));
+
+        assertThat(index).containsExactly("sample.Order", "sample.Order$Item");
+    }
+
+    @Test
+    @DisplayName("엔티티가 없으면 인덱스를 만들지 않는다.")
+    void skipWithoutEntities() {
+        compile(source("sample.Plain", """
+                package sample;
+                public class Plain {}
+                """));
+
+        assertThat(Files.exists(output.resolve(EntityIndexProcessor.INDEX_LOCATION))).isFalse();
+    }
+
+    private void compile(JavaFileObject... sources) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+                List.of("-d", output.toString(), "-proc:only"), null, List.of(sources));
+        task.setProcessors(List.of(new EntityIndexProcessor()));
+
+        assertThat(task.call()).isTrue();
+    }
+
+    private JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package database;
+
+import domain.Department;
+import domain.Employee;
+import domain.Order;
+import domain.OrderItem;
+import domain.Person;
+import jdbc.JdbcTemplate;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManager;
+import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaManagementToolCoordinator;
+
+import java.sql.SQLException;
+
+public class BenchmarkDatabase implements AutoCloseable {
+    public static final int PERSONS = 1_000;
+    public static final int ORDERS = 100;
+    public static final int ITEMS_PER_ORDER = 10;
+    public static final int DEPARTMENTS = 100;
+    public static final int EMPLOYEES_PER_DEPARTMENT = 10;
+
+    private final DatabaseServer server;
+    private final Metadata metadata;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public BenchmarkDatabase() throws SQLException {
+        this.server = new H2();
+        this.metadata = new MetadataImpl(server);
+        this.jdbcTemplate = new JdbcTemplate(server.getConnection());
+
+        SchemaManagementToolCoordinator.processDropTable(jdbcTemplate, metadata);
+        this.entityManagerFactory = metadata.buildEntityManagerFactory();
+    }
+
+    public BenchmarkDatabase seed() throws SQLException {
+        final EntityManager entityManager = entityManagerFactory.openSession();
+        for (int i = 0; i < PERSONS; i++) {
+            entityManager.persist(new Person("person" + i, i % 100, "person" + i + "@bench.test", i));
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            final Order order = new Order("order" + i);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                order.getOrderItems().add(new OrderItem("product" + j, j + 1));
+            }
+            entityManager.persist(order);
+        }
+
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            final Department department = new Department("department" + i);
+            for (int j = 0; j < EMPLOYEES_PER_DEPARTMENT; j++) {
+                department.getEmployees().add(new Employee("employee" + j));
+            }
+            entityManager.persist(department);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return this;
+    }
+
+    public DatabaseServer getServer() {
+        return server;
+    }
+
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    public EntityManager openSession() throws SQLException {
+        return entityManagerFactory.openSession();
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return entityManagerFactory;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        entityManagerFactory.close();
+    }
+}
@@ -0,0 +1,62 @@
+package jdbc;
+
+import database.BenchmarkDatabase;
+import domain.Order;
+import domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import persistence.entity.EntityKey;
+import persistence.entity.EntityLoader;
+import persistence.meta.Metamodel;
+import persistence.sql.dml.query.SelectQueryBuilder;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RowMapperBenchmark {
+
+    private BenchmarkDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private Metamodel metamodel;
+    private String selectPersons;
+    private RowMapper<Person> personRowMapper;
+    private EntityLoader orderLoader;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws SQLException {
+        database = new BenchmarkDatabase().seed();
+        jdbcTemplate = database.getJdbcTemplate();
+        metamodel = new Metamodel(database.getMetadata(), jdbcTemplate);
+
+        selectPersons = new SelectQueryBuilder(Person.class, metamodel).build();
+        personRowMapper = metamodel.getRowMapperFactory().getRowMapper(Person.class, metamodel, jdbcTemplate);
+        orderLoader = metamodel.findEntityLoader(Order.class);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Person> hydrateFlatRows() {
+        return jdbcTemplate.query(selectPersons, personRowMapper);
+    }
+
+    @Benchmark
+    public Order hydrateEagerCollection() {
+        final long id = sequence++ % BenchmarkDatabase.ORDERS + 1;
+        return orderLoader.loadEntity(Order.class, new EntityKey(id, Order.class));
+    }
+}
@@ -0,0 +1,100 @@
+package persistence.action;
+
+import database.BenchmarkDatabase;
+import domain.Department;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import persistence.entity.CollectionPersister;
+import persistence.entity.EntityEntry;
+import persistence.entity.EntityPersister;
+import persistence.event.EventSource;
+import persistence.sql.definition.TableAssociationDefinition;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// enqueue and cancel cost only: no action runs, so the time per entity must not grow with the queue
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ActionQueueBenchmark {
+
+    @Param({"10000", "50000", "100000"})
+    private int entities;
+
+    private BenchmarkDatabase database;
+    private EventSource source;
+    private EntityPersister persister;
+    private CollectionPersister collectionPersister;
+    private TableAssociationDefinition association;
+    private List<Department> departments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = new BenchmarkDatabase();
+        source = (EventSource) database.openSession();
+        persister = source.findEntityPersister(Department.class);
+        association = persister.getCollectionAssociations().get(0);
+        collectionPersister = source.findCollectionPersister(association);
+    }
+
+    @Setup(Level.Invocation)
+    public void createEntities() {
+        departments = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            departments.add(new Department("department" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        source.close();
+        database.close();
+    }
+
+    @Benchmark
+    public ActionQueue enqueue() {
+        final ActionQueue actionQueue = new ActionQueue();
+        for (Department department : departments) {
+            actionQueue.addAction(new DeferredInsertAction(source, department, persister));
+            actionQueue.addAction(new EntityCollectionInsertAction(source, department, collectionPersister, association));
+            actionQueue.addAction(new EntityUpdateAction(department, persister));
+        }
+        return actionQueue;
+    }
+
+    // every pending insert, together with its collection insertion, is cancelled by a delete
+    @Benchmark
+    public ActionQueue enqueueThenCancel() {
+        final ActionQueue actionQueue = new ActionQueue();
+        for (Department department : departments) {
+            actionQueue.addAction(new DeferredInsertAction(source, department, persister));
+            actionQueue.addAction(new EntityCollectionInsertAction(source, department, collectionPersister, association));
+        }
+        for (Department department : departments) {
+            actionQueue.addAction(new EntityDeleteAction(source, department, persister));
+        }
+        return actionQueue;
+    }
+
+    private static class DeferredInsertAction extends EntityInsertAction {
+        DeferredInsertAction(EventSource source, Object entity, EntityPersister persister) {
+            super(source, entity, persister, EntityEntry.inSaving());
+        }
+
+        @Override
+        public boolean isEarlyInsert() {
+            return false;
+        }
+    }
+}
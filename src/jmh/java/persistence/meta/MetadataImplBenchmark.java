@@ -0,0 +1,32 @@
+package persistence.meta;
+
+import database.DatabaseServer;
+import database.H2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetadataImplBenchmark {
+
+    private DatabaseServer server;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = new H2();
+    }
+
+    @Benchmark
+    public Metadata bootstrap() {
+        return new MetadataImpl(server);
+    }
+}
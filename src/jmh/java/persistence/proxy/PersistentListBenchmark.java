@@ -0,0 +1,53 @@
+package persistence.proxy;
+
+import database.BenchmarkDatabase;
+import domain.Department;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import persistence.session.EntityManager;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PersistentListBenchmark {
+
+    private BenchmarkDatabase database;
+    private EntityManager entityManager;
+    private Department department;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws SQLException {
+        database = new BenchmarkDatabase().seed();
+        entityManager = database.openSession();
+    }
+
+    // the owner is found outside the measurement, only the lazy load is timed
+    @Setup(Level.Invocation)
+    public void findDepartment() {
+        entityManager.clear();
+        final long id = sequence++ % BenchmarkDatabase.DEPARTMENTS + 1;
+        department = entityManager.find(Department.class, id);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        entityManager.close();
+        database.close();
+    }
+
+    @Benchmark
+    public int initializeLazyCollection() {
+        return department.getEmployees().size();
+    }
+}
@@ -0,0 +1,114 @@
+package persistence.session;
+
+import database.BenchmarkDatabase;
+import domain.Order;
+import domain.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// every invocation runs SESSIONS sessions at once, one virtual thread each; the scheduler
+// parallelism differs per fork, so comparing the scores shows how throughput scales with cores
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ConcurrentSessionBenchmark.SESSIONS)
+public class ConcurrentSessionBenchmark {
+    static final int SESSIONS = 2_000;
+
+    private BenchmarkDatabase database;
+    private SessionFactoryImpl sessionFactory;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = new BenchmarkDatabase().seed();
+        sessionFactory = (SessionFactoryImpl) database.getEntityManagerFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=1")
+    public int parallelism1() throws Exception {
+        return runSessions();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=2")
+    public int parallelism2() throws Exception {
+        return runSessions();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=4")
+    public int parallelism4() throws Exception {
+        return runSessions();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Djdk.virtualThreadScheduler.parallelism=8")
+    public int parallelism8() throws Exception {
+        return runSessions();
+    }
+
+    private int runSessions() throws InterruptedException, ExecutionException {
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        final List<Future<Boolean>> results = new ArrayList<>(SESSIONS);
+        int verified = 0;
+        try {
+            for (int i = 0; i < SESSIONS; i++) {
+                final long index = sequence.incrementAndGet();
+                results.add(executor.submit(() -> sessionFactory.callInSession(session -> persistAndFind(session, index))));
+            }
+
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    verified++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (verified != SESSIONS) {
+            throw new IllegalStateException("Only " + verified + " of " + SESSIONS + " sessions read back their own order");
+        }
+        return verified;
+    }
+
+    private boolean persistAndFind(EntityManager session, long index) {
+        final Order order = new Order("concurrent" + index);
+        order.getOrderItems().add(new OrderItem("product" + index, 1));
+        order.getOrderItems().add(new OrderItem("product" + index, 2));
+        session.persist(order);
+        session.flush();
+        session.clear();
+
+        final Order found = session.find(Order.class, order.getId());
+        return found.getOrderNumber().equals("concurrent" + index)
+                && found.getOrderItems().size() == 2
+                && found.getOrderItems().get(0).getProduct().equals("product" + index);
+    }
+}
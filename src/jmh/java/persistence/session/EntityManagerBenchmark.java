@@ -0,0 +1,84 @@
+package persistence.session;
+
+import database.BenchmarkDatabase;
+import domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EntityManagerBenchmark {
+
+    // only persistAndFlush takes this state, so the other benchmarks are not run once per batch size
+    @State(Scope.Benchmark)
+    public static class PersistBatch {
+        @Param({"100", "1000"})
+        private int entities;
+    }
+
+    private BenchmarkDatabase database;
+    private EntityManager entityManager;
+    private Person managed;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = new BenchmarkDatabase().seed();
+        entityManager = database.openSession();
+    }
+
+    @Setup(Level.Iteration)
+    public void loadManaged() {
+        entityManager.clear();
+        database.getJdbcTemplate().execute("DELETE FROM users WHERE id > " + BenchmarkDatabase.PERSONS);
+        managed = entityManager.find(Person.class, 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        entityManager.close();
+        database.close();
+    }
+
+    @Benchmark
+    public Person findHit() {
+        return entityManager.find(Person.class, 1L);
+    }
+
+    @Benchmark
+    public Person findMiss() {
+        final long id = sequence++ % (BenchmarkDatabase.PERSONS - 1) + 2;
+        final Person person = entityManager.find(Person.class, id);
+        entityManager.clear();
+        return person;
+    }
+
+    @Benchmark
+    public void persistAndFlush(PersistBatch batch) {
+        for (int i = 0; i < batch.entities; i++) {
+            entityManager.persist(new Person("new" + i, i, "new" + i + "@bench.test", i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Benchmark
+    public Person mergeDirtyCheck() {
+        managed.setName("renamed" + (sequence++ & 1));
+        final Person merged = entityManager.merge(managed);
+        entityManager.flush();
+        return merged;
+    }
+}
@@ -6,10 +6,24 @@ public class ClassFileProcessor {
     private static final String DOT = ".";
     private static final String CLASS_FILE_EXTENSION = DOT + "class";
 
+    private final ClassLoader classLoader;
+
+    public ClassFileProcessor() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    public ClassFileProcessor(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
     public Class<?> process(String basePackage, File file) {
-        String className = extractClassName(basePackage, file);
+        return process(extractClassName(basePackage, file));
+    }
+
+    // loads without initializing, static initializers of scanned classes never run
+    public Class<?> process(String className) {
         try {
-            Class<?> aClass = Class.forName(className);
+            Class<?> aClass = Class.forName(className, false, classLoader);
             if (isEntity(aClass)) {
                 return aClass;
             }
@@ -21,7 +35,17 @@ public class ClassFileProcessor {
     }
 
     public boolean isClassFile(File file) {
-        return file.getName().endsWith(CLASS_FILE_EXTENSION);
+        return isClassFile(file.getName());
+    }
+
+    // module-info and package-info are not classes that can be loaded
+    public boolean isClassFile(String fileName) {
+        return fileName.endsWith(CLASS_FILE_EXTENSION) && !fileName.contains("-");
+    }
+
+    public String toClassName(String resourcePath) {
+        return resourcePath.substring(0, resourcePath.length() - CLASS_FILE_EXTENSION.length())
+                .replace('/', '.');
     }
 
     private String extractClassName(String basePackage, File file) {
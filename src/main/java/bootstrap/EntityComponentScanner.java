@@ -1,12 +1,24 @@
 package bootstrap;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URL;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.stream.Stream;
 
 public class EntityComponentScanner {
+    private static final String JAR_PROTOCOL = "jar";
+    private static final String FILE_PROTOCOL = "file";
+
     private final FileSystemExplorer fileSystemExplorer;
     private final ClassFileProcessor classFileProcessor;
 
@@ -17,33 +29,55 @@ public class EntityComponentScanner {
     }
 
     public List<Class<?>> scan(String basePackage) throws ClassNotFoundException {
-        final File baseDir = fileSystemExplorer.resolveBaseDir(basePackage);
-
-        if (fileSystemExplorer.isInvalidDirectory(baseDir)) {
-            return new ArrayList<>();
+        // a package split over several roots may list the same class more than once
+        final Set<String> classNames = new LinkedHashSet<>();
+        for (URL root : fileSystemExplorer.resolveRoots(basePackage)) {
+            if (JAR_PROTOCOL.equals(root.getProtocol())) {
+                classNames.addAll(listJarEntries(basePackage, root));
+            } else if (FILE_PROTOCOL.equals(root.getProtocol())) {
+                classNames.addAll(listDirectory(basePackage, fileSystemExplorer.toFile(root)));
+            }
         }
 
-        return processDirectory(basePackage, baseDir);
+        // loading and the annotation check dominate, so they run in parallel over all candidates
+        return classNames.parallelStream()
+                .map(classFileProcessor::process)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Class::getName))
+                .toList();
     }
 
-    private List<Class<?>> processDirectory(String basePackage, File baseDir) {
+    private List<String> listDirectory(String basePackage, File baseDir) {
+        if (fileSystemExplorer.isInvalidDirectory(baseDir)) {
+            return List.of();
+        }
+
         return Arrays.stream(baseDir.listFiles())
+                .parallel()
                 .flatMap(file -> {
                     if (file.isDirectory()) {
-                        return handleDirectory(basePackage, file).stream();
+                        return listDirectory(basePackage + "." + file.getName(), file).stream();
                     } else if (classFileProcessor.isClassFile(file)) {
-                        return Stream.ofNullable(classFileProcessor.process(basePackage, file));
+                        return Stream.of(basePackage + "." + classFileProcessor.toClassName(file.getName()));
                     }
                     return Stream.empty();
                 }).toList();
     }
 
-
-    private List<Class<?>> handleDirectory(String basePackage, File file) {
+    private List<String> listJarEntries(String basePackage, URL root) {
+        final String prefix = fileSystemExplorer.toResourcePath(basePackage) + "/";
         try {
-            return scan(basePackage + "." + file.getName());
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+            // opened on its own, a cached JarFile is shared with the class loader and must not be closed here
+            final URL jarFileUrl = ((JarURLConnection) root.openConnection()).getJarFileURL();
+            try (JarFile jarFile = new JarFile(fileSystemExplorer.toFile(jarFileUrl))) {
+                return jarFile.stream()
+                        .map(JarEntry::getName)
+                        .filter(name -> name.startsWith(prefix) && classFileProcessor.isClassFile(name))
+                        .map(classFileProcessor::toClassName)
+                        .toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + root, e);
         }
     }
 
@@ -0,0 +1,73 @@
+package bootstrap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+// written at compile time by bootstrap.processor.EntityIndexProcessor, one binary class name per line
+public class EntityIndex {
+    static final String INDEX_LOCATION = "META-INF/jpa-bootstrap/entities.idx";
+
+    private final ClassLoader classLoader;
+
+    public EntityIndex() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    public EntityIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    // an index from another jar on the classpath says nothing about this package, it is only used when it lists some
+    public Optional<List<Class<?>>> load(String basePackage) {
+        final Set<String> classNames = readClassNames();
+        final String prefix = basePackage + ".";
+        final List<Class<?>> entityClasses = new ArrayList<>();
+        for (String className : classNames) {
+            if (className.startsWith(prefix)) {
+                entityClasses.add(loadClass(className));
+            }
+        }
+        if (entityClasses.isEmpty()) {
+            return Optional.empty();
+        }
+        entityClasses.sort(Comparator.comparing(Class::getName));
+        return Optional.of(entityClasses);
+    }
+
+    private Set<String> readClassNames() {
+        final Set<String> classNames = new TreeSet<>();
+        try {
+            for (URL index : Collections.list(classLoader.getResources(INDEX_LOCATION))) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .map(String::strip)
+                            .filter(line -> !line.isEmpty())
+                            .forEach(classNames::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read entity index", e);
+        }
+        return classNames;
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Indexed entity class not found: " + className, e);
+        }
+    }
+}
@@ -1,21 +1,56 @@
 package bootstrap;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 
 public class FileSystemExplorer {
+    private final ClassLoader classLoader;
+
+    public FileSystemExplorer() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    public FileSystemExplorer(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
 
     public File resolveBaseDir(String basePackage) {
         final URL resourcePath = getResourcePath(basePackage);
         if (resourcePath == null) {
             return new File("");
         }
-        return new File(resourcePath.getFile());
+        return toFile(resourcePath);
+    }
+
+    // a package may be split over several directories and jars
+    public List<URL> resolveRoots(String basePackage) {
+        try {
+            return Collections.list(classLoader.getResources(toResourcePath(basePackage)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // the URL path is percent-encoded, a directory with spaces or non-ASCII characters only resolves through its URI
+    public File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Not a file URL: " + url, e);
+        }
+    }
+
+    public String toResourcePath(String basePackage) {
+        return basePackage.replace(".", "/");
     }
 
     private URL getResourcePath(String basePackage) {
-        String path = basePackage.replace(".", "/");
-        return Thread.currentThread().getContextClassLoader().getResource(path);
+        return classLoader.getResource(toResourcePath(basePackage));
     }
 
     public boolean isInvalidDirectory(File file) {
@@ -13,6 +13,14 @@ public class SqlLogger {
         logger.info("Creating table with query: {}", query);
     }
 
+    public static void infoCreateIndex(String query) {
+        logger.info("Creating index with query: {}", query);
+    }
+
+    public static void infoAlterTable(String query) {
+        logger.info("Altering table with query: {}", query);
+    }
+
     public static void infoInsert(String query) {
         logger.info("Inserting with query: {}", query);
     }
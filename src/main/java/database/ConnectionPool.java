@@ -0,0 +1,133 @@
+package database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// connections handed back by sessions are kept for the next one.
+// at most maxTotal are borrowed at once, a caller past that waits for one to come back or times out
+public class ConnectionPool implements ConnectionProvider, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static final int DEFAULT_MAX_IDLE = 10;
+    private static final int DEFAULT_MAX_TOTAL = 32;
+    private static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final DatabaseServer database;
+    private final BlockingQueue<Connection> idleConnections;
+    private final int maxTotal;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(DatabaseServer database) {
+        this(database, DEFAULT_MAX_IDLE);
+    }
+
+    public ConnectionPool(DatabaseServer database, int maxIdle) {
+        this(database, maxIdle, Math.max(maxIdle, DEFAULT_MAX_TOTAL), DEFAULT_ACQUIRE_TIMEOUT);
+    }
+
+    public ConnectionPool(DatabaseServer database, int maxIdle, int maxTotal, Duration acquireTimeout) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("Max idle must be positive: " + maxIdle);
+        }
+        if (maxTotal < maxIdle) {
+            throw new IllegalArgumentException("Max total " + maxTotal + " must not be less than max idle " + maxIdle);
+        }
+        this.database = database;
+        this.idleConnections = new ArrayBlockingQueue<>(maxIdle);
+        this.maxTotal = maxTotal;
+        this.permits = new Semaphore(maxTotal, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new IllegalStateException("Connection pool is closed");
+        }
+        acquirePermit();
+        peakActive.accumulateAndGet(getActiveCount(), Math::max);
+
+        try {
+            Connection connection;
+            while ((connection = idleConnections.poll()) != null) {
+                if (!connection.isClosed()) {
+                    return connection;
+                }
+            }
+            return database.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeout.toMillis() + "ms waiting for a connection, all "
+                                + maxTotal + " are in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    // a connection comes back in autocommit mode with nothing pending, whatever the session left behind
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        try {
+            if (connection.isClosed()) {
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (closed || !idleConnections.offer(connection)) {
+                connection.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public int getActiveCount() {
+        return maxTotal - permits.availablePermits();
+    }
+
+    // the most connections borrowed at the same time since the pool was created
+    public int getPeakActiveCount() {
+        return peakActive.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.warn("Could not close pooled connection", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface ConnectionProvider {
+    Connection getConnection() throws SQLException;
+
+    void closeConnection(Connection connection) throws SQLException;
+}
@@ -1,21 +1,23 @@
 package jdbc;
 
 import common.AliasRule;
-import common.ReflectionFieldAccessUtils;
-import persistence.entity.EntityPersister;
 import persistence.sql.definition.ColumnDefinitionAware;
+import persistence.sql.definition.TableDefinition;
 
-import java.lang.reflect.Field;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public abstract class AbstractRowMapper<T> implements RowMapper<T> {
     private final Class<T> clazz;
-    private final EntityPersister entityPersister;
+    private final TableDefinition tableDefinition;
 
-    protected AbstractRowMapper(Class<T> clazz, EntityPersister entityPersister) {
+    protected AbstractRowMapper(Class<T> clazz, TableDefinition tableDefinition) {
         this.clazz = clazz;
-        this.entityPersister = entityPersister;
+        this.tableDefinition = tableDefinition;
+    }
+
+    public Class<T> getEntityClass() {
+        return clazz;
     }
 
     protected abstract void setAssociation(ResultSet resultSet, T instance) throws NoSuchFieldException, SQLException;
@@ -24,8 +26,8 @@ public abstract class AbstractRowMapper<T> implements RowMapper<T> {
     @SuppressWarnings("unchecked")
     public T mapRow(ResultSet resultSet) throws SQLException {
         try {
-            final T instance = (T) newInstance(clazz);
-            setColumns(resultSet, entityPersister, instance);
+            final T instance = (T) tableDefinition.newInstance();
+            setColumns(resultSet, tableDefinition, instance);
             setAssociation(resultSet, instance);
             return instance;
         } catch (ReflectiveOperationException e) {
@@ -33,26 +35,13 @@ public abstract class AbstractRowMapper<T> implements RowMapper<T> {
         }
     }
 
-    protected Object newInstance(Class<?> clazz) {
-        try {
-            return clazz.getDeclaredConstructor().newInstance();
-        } catch (ReflectiveOperationException e) {
-            throw new IllegalStateException("Cannot create new instance of " + clazz.getName(), e);
-        }
-    }
-
-    protected void setColumns(ResultSet resultSet, EntityPersister entityPersister,
+    protected void setColumns(ResultSet resultSet, TableDefinition tableDefinition,
                               Object instance) throws NoSuchFieldException, SQLException {
 
-        final Class<?> entityClass = entityPersister.getEntityClass();
-
-        for (ColumnDefinitionAware column : entityPersister.getColumns()) {
+        for (ColumnDefinitionAware column : tableDefinition.getColumns()) {
             final String databaseColumnName = column.getDatabaseColumnName();
-            final Field instanceField = entityClass.getDeclaredField(column.getEntityFieldName());
-            final Object result = resultSet.getObject(
-                    AliasRule.with(entityPersister.getTableName(), databaseColumnName));
-
-            ReflectionFieldAccessUtils.accessAndSet(instance, instanceField, result);
+            tableDefinition.readColumn(resultSet,
+                    AliasRule.with(tableDefinition.getTableName(), databaseColumnName), instance, column);
         }
     }
 }
@@ -1,7 +1,7 @@
 package jdbc;
 
-import persistence.entity.EntityPersister;
 import persistence.sql.definition.TableAssociationDefinition;
+import persistence.sql.definition.TableDefinition;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -9,22 +9,22 @@ import java.util.Collection;
 import java.util.List;
 
 public class EagerFetchRowMapper<T> extends AbstractRowMapper<T> {
-    private final EntityPersister parentPersister;
-    private final EntityPersister associatedPersister;
+    private final TableDefinition parentDefinition;
+    private final TableDefinition associatedDefinition;
 
     public EagerFetchRowMapper(Class<T> clazz,
-                               EntityPersister parentPersister,
-                               EntityPersister associatedPersister) {
+                               TableDefinition parentDefinition,
+                               TableDefinition associatedDefinition) {
 
-        super(clazz, parentPersister);
-        this.parentPersister = parentPersister;
-        this.associatedPersister = associatedPersister;
+        super(clazz, parentDefinition);
+        this.parentDefinition = parentDefinition;
+        this.associatedDefinition = associatedDefinition;
     }
 
     @Override
     protected void setAssociation(ResultSet resultSet, T instance) throws NoSuchFieldException, SQLException {
         do {
-            List<TableAssociationDefinition> associations = parentPersister.getAssociations();
+            List<TableAssociationDefinition> associations = parentDefinition.getAssociations();
             if (associations.isEmpty()) {
                 return;
             }
@@ -34,8 +34,8 @@ public class EagerFetchRowMapper<T> extends AbstractRowMapper<T> {
                     continue;
                 }
 
-                final Object associatedInstance = newInstance(association.getAssociatedEntityClass());
-                setColumns(resultSet, associatedPersister, associatedInstance);
+                final Object associatedInstance = associatedDefinition.newInstance();
+                setColumns(resultSet, associatedDefinition, associatedInstance);
 
                 final Collection<Object> entityCollection = association.getCollectionField(instance);
                 entityCollection.add(associatedInstance);
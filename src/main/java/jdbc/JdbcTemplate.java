@@ -1,53 +1,321 @@
 package jdbc;
 
+import database.ConnectionProvider;
+import persistence.jfr.HydrationEvent;
+import persistence.jfr.JdbcExecutionEvent;
+import persistence.stat.NPlusOneDetector;
+import persistence.stat.StatisticsImpl;
+
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
 public class JdbcTemplate {
-    private final Connection connection;
+    // null when the template was handed a single connection it keeps for its whole life
+    private final ConnectionProvider connectionProvider;
+    private Connection connection;
+    private boolean autoCommit = true;
+    private int openResultSets;
+    private final StatisticsImpl statistics;
+    private final NPlusOneDetector nPlusOneDetector;
+    private final List<StatementInspector> statementInspectors = new ArrayList<>();
 
     public JdbcTemplate(final Connection connection) {
+        this(connection, new StatisticsImpl());
+    }
+
+    public JdbcTemplate(final Connection connection, final StatisticsImpl statistics) {
+        this(connection, statistics, NPlusOneDetector.disabled());
+    }
+
+    public JdbcTemplate(final Connection connection,
+                        final StatisticsImpl statistics,
+                        final NPlusOneDetector nPlusOneDetector) {
+        this.connectionProvider = null;
         this.connection = connection;
+        this.statistics = statistics;
+        this.nPlusOneDetector = nPlusOneDetector;
+    }
+
+    // the connection is acquired on the first statement and handed back as soon as nothing depends on it
+    public JdbcTemplate(final ConnectionProvider connectionProvider,
+                        final StatisticsImpl statistics,
+                        final NPlusOneDetector nPlusOneDetector) {
+        this.connectionProvider = connectionProvider;
+        this.statistics = statistics;
+        this.nPlusOneDetector = nPlusOneDetector;
+    }
+
+    public boolean canFork() {
+        return connectionProvider != null;
+    }
+
+    // a template with its own connection from the same provider, for statements running beside this one.
+    // the n+1 detector is per session and not thread-safe, work done on a fork is not reported to it
+    public JdbcTemplate fork() {
+        if (connectionProvider == null) {
+            throw new IllegalStateException("A template bound to a single connection cannot be forked");
+        }
+
+        final JdbcTemplate forked = new JdbcTemplate(connectionProvider, statistics, NPlusOneDetector.disabled());
+        forked.statementInspectors.addAll(statementInspectors);
+        return forked;
     }
 
-    public void execute(final String sql) {
-        try (final Statement statement = connection.createStatement()) {
+    private Connection connection() throws SQLException {
+        if (connection == null) {
+            connection = connectionProvider.getConnection();
+            if (!autoCommit) {
+                connection.setAutoCommit(false);
+            }
+        }
+        return connection;
+    }
+
+    public boolean hasConnection() {
+        return connection != null;
+    }
+
+    // in autocommit mode nothing outlives the statement, inside a transaction the connection is kept until it ends.
+    // a row mapper may run statements of its own while the outer result set is still being read
+    private void afterStatement() {
+        if (autoCommit && openResultSets == 0) {
+            releaseConnection();
+        }
+    }
+
+    private void releaseConnection() {
+        if (connectionProvider == null || connection == null) {
+            return;
+        }
+
+        final Connection released = connection;
+        connection = null;
+        try {
+            connectionProvider.closeConnection(released);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public StatisticsImpl getStatistics() {
+        return statistics;
+    }
+
+    public NPlusOneDetector getNPlusOneDetector() {
+        return nPlusOneDetector;
+    }
+
+    public void addStatementInspector(StatementInspector statementInspector) {
+        statementInspectors.add(statementInspector);
+    }
+
+    private String inspect(String sql) {
+        String inspected = sql;
+        for (int i = 0; i < statementInspectors.size(); i++) {
+            inspected = statementInspectors.get(i).inspect(inspected);
+        }
+        return inspected;
+    }
+
+    public void execute(final String rawSql) {
+        final String sql = inspect(rawSql);
+        try (final Statement statement = connection().createStatement()) {
+            statistics.prepareStatement();
+            final long start = startTime();
+            final JdbcExecutionEvent event = new JdbcExecutionEvent();
+            event.begin();
             statement.execute(sql);
+            commit(event, sql, Math.max(statement.getUpdateCount(), 0));
+            executed(sql, start);
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            afterStatement();
+        }
+    }
+
+    // one round trip for the whole list, DDL at startup goes through here
+    public void executeBatch(final List<String> rawSqls) {
+        if (rawSqls.isEmpty()) {
+            return;
+        }
+
+        try (final Statement statement = connection().createStatement()) {
+            final List<String> sqls = new ArrayList<>(rawSqls.size());
+            for (String rawSql : rawSqls) {
+                final String sql = inspect(rawSql);
+                statement.addBatch(sql);
+                sqls.add(sql);
+            }
+            statistics.prepareStatement();
+            final long start = startTime();
+            final JdbcExecutionEvent event = new JdbcExecutionEvent();
+            event.begin();
+            statement.executeBatch();
+            final String batch = String.join("\n", sqls);
+            commit(event, batch, sqls.size());
+            executed(batch, start);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            afterStatement();
+        }
+    }
+
+    // the connection is handed back only after the reader is done with the metadata result sets
+    public <T> T readMetaData(final MetaDataReader<T> reader) {
+        try {
+            final Connection connection = connection();
+            return reader.read(connection.getMetaData(), connection.getSchema());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            afterStatement();
         }
     }
 
     public <T> T queryForObject(final String sql, final RowMapper<T> rowMapper) {
-        final List<T> results = query(sql, rowMapper);
+        return single(query(sql, rowMapper));
+    }
+
+    public <T> T queryForObject(final String sql, final RowMapper<T> rowMapper, final ResultSetSharing sharing) {
+        return single(query(sql, rowMapper, sharing));
+    }
+
+    public <T> T queryForObject(final ResultSetSnapshot snapshot, final RowMapper<T> rowMapper) {
+        return single(query(snapshot, rowMapper));
+    }
+
+    private static <T> T single(List<T> results) {
         if (results.size() != 1) {
             throw new RuntimeException("Expected 1 result, got " + results.size());
         }
         return results.get(0);
     }
 
-    public <T> List<T> query(final String sql, final RowMapper<T> rowMapper) {
-        try (final ResultSet resultSet = connection.prepareStatement(sql).executeQuery()) {
-            final List<T> result = new ArrayList<>();
-            while (resultSet.next()) {
-                result.add(rowMapper.mapRow(resultSet));
+    public <T> List<T> query(final String rawSql, final RowMapper<T> rowMapper) {
+        return query(rawSql, rowMapper, ResultSetSharing.NONE);
+    }
+
+    // rows are copied only when another reader joined while the query ran, otherwise they hydrate straight from the driver
+    public <T> List<T> query(final String rawSql, final RowMapper<T> rowMapper, final ResultSetSharing sharing) {
+        final String sql = inspect(rawSql);
+        statistics.prepareStatement();
+        final long start = startTime();
+        final JdbcExecutionEvent event = new JdbcExecutionEvent();
+        event.begin();
+        openResultSets++;
+        try (final PreparedStatement statement = connection().prepareStatement(sql);
+             final ResultSet resultSet = statement.executeQuery()) {
+            event.end();
+
+            final List<T> result;
+            if (sharing.seal()) {
+                final ResultSetSnapshot snapshot = ResultSetSnapshot.of(resultSet);
+                sharing.share(snapshot);
+                result = mapRows(snapshot.newResultSet(), rowMapper);
+            } else {
+                result = mapRows(resultSet, rowMapper);
             }
+            commit(event, sql, result.size());
+            executed(sql, start);
             return result;
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            openResultSets--;
+            afterStatement();
         }
     }
 
-    public long insertAndReturnKey(String sql) {
-        try (Statement statement = connection.createStatement()) {
-            statement.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+    public ResultSetSnapshot querySnapshot(final String rawSql) {
+        final String sql = inspect(rawSql);
+        statistics.prepareStatement();
+        final long start = startTime();
+        final JdbcExecutionEvent event = new JdbcExecutionEvent();
+        event.begin();
+        try (final PreparedStatement statement = connection().prepareStatement(sql);
+             final ResultSet resultSet = statement.executeQuery()) {
+            final ResultSetSnapshot snapshot = ResultSetSnapshot.of(resultSet);
+            commit(event, sql, snapshot.size());
+            executed(sql, start);
+            return snapshot;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            afterStatement();
+        }
+    }
+
+    public <T> List<T> query(final ResultSetSnapshot snapshot, final RowMapper<T> rowMapper) {
+        try (final ResultSet resultSet = snapshot.newResultSet()) {
+            return mapRows(resultSet, rowMapper);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static <T> List<T> mapRows(ResultSet resultSet, RowMapper<T> rowMapper) throws SQLException {
+        final HydrationEvent hydration = new HydrationEvent();
+        hydration.begin();
+        final List<T> result = new ArrayList<>();
+        while (resultSet.next()) {
+            result.add(rowMapper.mapRow(resultSet));
+        }
+        commit(hydration, rowMapper, result.size());
+        return result;
+    }
+
+    public long insertAndReturnKey(String rawSql) {
+        final String sql = inspect(rawSql);
+        try (Statement statement = connection().createStatement()) {
+            statistics.prepareStatement();
+            final long start = startTime();
+            final JdbcExecutionEvent event = new JdbcExecutionEvent();
+            event.begin();
+            final int rows = statement.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+            commit(event, sql, rows);
+            executed(sql, start);
             return getGeneratedKey(statement);
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            afterStatement();
+        }
+    }
+
+    private static void commit(JdbcExecutionEvent event, String sql, long rows) {
+        if (event.shouldCommit()) {
+            event.sql = sql;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    private static void commit(HydrationEvent event, RowMapper<?> rowMapper, long rows) {
+        if (event.shouldCommit()) {
+            event.entityType = rowMapper instanceof AbstractRowMapper<?> entityRowMapper
+                    ? entityRowMapper.getEntityClass().getName()
+                    : rowMapper.getClass().getName();
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    // nanoTime is only read while statistics are collected
+    private long startTime() {
+        return statistics.isStatisticsEnabled() ? System.nanoTime() : 0L;
+    }
+
+    private void executed(String sql, long start) {
+        if (start != 0L) {
+            statistics.executeStatement(sql, System.nanoTime() - start);
         }
     }
 
@@ -60,4 +328,89 @@ public class JdbcTemplate {
             }
         }
     }
+
+    public boolean getAutoCommit() {
+        if (connection == null) {
+            return autoCommit;
+        }
+        try {
+            return connection.getAutoCommit();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void close() {
+        if (connectionProvider != null) {
+            releaseConnection();
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // switching autocommit back on ends the transaction, which is when a provided connection is released
+    public void setAutoCommit(boolean autoCommit) {
+        this.autoCommit = autoCommit;
+        try {
+            if (connection != null) {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        if (autoCommit) {
+            releaseConnection();
+        }
+    }
+
+    // a transaction that never ran a statement never acquired a connection, there is nothing to end
+    public void commit() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void rollback() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Savepoint setSavepoint(String name) {
+        try {
+            return connection().setSavepoint(name);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void rollback(Savepoint savepoint) {
+        try {
+            connection().rollback(savepoint);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void releaseSavepoint(Savepoint savepoint) {
+        try {
+            connection().releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
@@ -1,10 +1,14 @@
 package jdbc;
 
-import common.ReflectionFieldAccessUtils;
+import persistence.entity.AutoFlushHandler;
+import persistence.cache.CollectionCache;
+import persistence.entity.EntityKey;
 import persistence.entity.EntityLazyLoader;
 import persistence.entity.EntityPersister;
+import persistence.jfr.LazyLoadEvent;
 import persistence.meta.Metamodel;
 import persistence.proxy.PersistentList;
+import persistence.sql.definition.ColumnDefinitionAware;
 import persistence.sql.definition.TableAssociationDefinition;
 import persistence.sql.definition.TableDefinition;
 import persistence.sql.dml.query.SelectQueryBuilder;
@@ -13,22 +17,34 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class LazyFetchRowMapper<T> extends AbstractRowMapper<T> {
     private final Class<T> clazz;
     private final EntityPersister entityPersister;
     private final JdbcTemplate jdbcTemplate;
     private final Metamodel metamodel;
+    private final AutoFlushHandler autoFlushHandler;
 
     public LazyFetchRowMapper(Class<T> clazz,
                               JdbcTemplate jdbcTemplate,
                               Metamodel metamodel) {
-        super(clazz, metamodel.findEntityPersister(clazz));
+        this(clazz, jdbcTemplate, metamodel, AutoFlushHandler.NONE);
+    }
+
+    public LazyFetchRowMapper(Class<T> clazz,
+                              JdbcTemplate jdbcTemplate,
+                              Metamodel metamodel,
+                              AutoFlushHandler autoFlushHandler) {
+        super(clazz, metamodel.findEntityPersister(clazz).getTableDefinition());
         this.entityPersister = metamodel.findEntityPersister(clazz);
         this.clazz = clazz;
         this.jdbcTemplate = jdbcTemplate;
         this.metamodel = metamodel;
+        this.autoFlushHandler = autoFlushHandler;
     }
 
     @Override
@@ -39,34 +55,121 @@ public class LazyFetchRowMapper<T> extends AbstractRowMapper<T> {
                 continue;
             }
 
-            ReflectionFieldAccessUtils.accessAndSet(instance,
-                    clazz.getDeclaredField(association.getFieldName()),
-                    createProxy(instance, association.getAssociatedEntityClass())
+            entityPersister.getTableDefinition().setValue(instance,
+                    association.getFieldName(),
+                    createProxy(instance, association)
             );
         }
     }
 
     @SuppressWarnings("unchecked")
-    public <E> List<E> createProxy(Object instance, Class<E> elementType) {
+    public <E> List<E> createProxy(Object instance, TableAssociationDefinition association) {
         return (List<E>) Proxy.newProxyInstance(
                 instance.getClass().getClassLoader(),
                 new Class[]{List.class},
-                new PersistentList<>(instance, createLazyLoader(elementType))
+                new PersistentList<>(instance, createLazyLoader(association))
         );
     }
 
-    private EntityLazyLoader createLazyLoader(Class<?> elementClass) {
-        return owner -> {
-            final String joinColumnName = entityPersister.getJoinColumnName(elementClass);
-            final Object joinColumnValue = entityPersister.getValue(owner, joinColumnName);
-
-            final String query = new SelectQueryBuilder(elementClass, metamodel)
-                    .where(joinColumnName, joinColumnValue.toString())
-                    .build();
+    private EntityLazyLoader createLazyLoader(TableAssociationDefinition association) {
+        final Set<String> querySpaces = Set.of(
+                metamodel.findEntityPersister(association.getAssociatedEntityClass()).getTableName()
+        );
+        return new EntityLazyLoader() {
+            @Override
+            public Collection<?> loadLazyCollection(Object owner) {
+                autoFlushHandler.autoFlushIfRequired(querySpaces);
+                return loadCollection(owner, association, jdbcTemplate);
+            }
 
-            return jdbcTemplate.query(query,
-                    RowMapperFactory.getInstance().getRowMapper(elementClass, metamodel, jdbcTemplate)
-            );
+            @Override
+            public Collection<?> loadLazyCollection(Object owner, JdbcTemplate executingTemplate) {
+                return loadCollection(owner, association, executingTemplate);
+            }
         };
     }
+
+    // the query runs on executingTemplate, the loaded elements still get loaders bound to this session's template
+    private List<?> loadCollection(Object owner,
+                                   TableAssociationDefinition association,
+                                   JdbcTemplate executingTemplate) {
+        final Class<?> elementClass = association.getAssociatedEntityClass();
+        final EntityPersister elementPersister = metamodel.findEntityPersister(elementClass);
+        final Set<String> querySpaces = Set.of(elementPersister.getTableName());
+        final LazyLoadEvent event = new LazyLoadEvent();
+        event.begin();
+
+        final RowMapper<?> elementMapper =
+                metamodel.getRowMapperFactory().getRowMapper(elementClass, metamodel, jdbcTemplate, autoFlushHandler);
+        final CollectionCache collectionCache = metamodel.getCollectionCache();
+        // only lazy elements can be rebuilt from column values alone
+        final boolean cacheable = collectionCache.isEnabled()
+                && executingTemplate.getAutoCommit()
+                && elementMapper instanceof LazyFetchRowMapper<?>;
+        final EntityKey ownerKey = new EntityKey(entityPersister.getEntityId(owner), owner.getClass());
+
+        List<?> elements = null;
+        if (cacheable) {
+            elements = collectionCache.get(ownerKey, association.getFieldName(), elementPersister,
+                    ((LazyFetchRowMapper<?>) elementMapper)::assemble);
+        }
+
+        if (elements != null) {
+            executingTemplate.getStatistics().cacheHit();
+        } else {
+            final long timestamp = cacheable ? collectionCache.timestamp() : 0L;
+            elements = queryCollection(owner, association, querySpaces, elementMapper, executingTemplate);
+            if (cacheable) {
+                executingTemplate.getStatistics().cacheMiss();
+                // a deleted owner is evicted through its own table, so both tables guard the fill
+                final Set<String> cacheSpaces = new HashSet<>(querySpaces);
+                cacheSpaces.add(entityPersister.getTableName());
+                if (collectionCache.put(ownerKey, association.getFieldName(), elementPersister, elements,
+                        cacheSpaces, timestamp)) {
+                    executingTemplate.getStatistics().cachePut();
+                }
+            }
+        }
+        executingTemplate.getStatistics().initializeCollection();
+
+        if (event.shouldCommit()) {
+            event.ownerType = owner.getClass().getName();
+            event.elementType = elementClass.getName();
+            event.collectionSize = elements.size();
+            event.commit();
+        }
+        return elements;
+    }
+
+    private List<?> queryCollection(Object owner,
+                                    TableAssociationDefinition association,
+                                    Set<String> querySpaces,
+                                    RowMapper<?> elementMapper,
+                                    JdbcTemplate executingTemplate) {
+        final Class<?> elementClass = association.getAssociatedEntityClass();
+        final String joinColumnName = entityPersister.getJoinColumnName(elementClass);
+        final Object joinColumnValue = entityPersister.getValue(owner, joinColumnName);
+
+        final String query = new SelectQueryBuilder(elementClass, metamodel)
+                .where(joinColumnName, joinColumnValue.toString())
+                .build();
+        executingTemplate.getNPlusOneDetector().onCollectionLoad(owner.getClass(), association.getFieldName(), query);
+
+        return metamodel.getQueryResultsCache().query(executingTemplate, query, querySpaces, elementMapper);
+    }
+
+    public T assemble(Object[] state) {
+        final TableDefinition tableDefinition = entityPersister.getTableDefinition();
+        final T instance = clazz.cast(tableDefinition.newInstance());
+        final List<? extends ColumnDefinitionAware> columns = tableDefinition.getColumns();
+        try {
+            for (int i = 0; i < state.length; i++) {
+                tableDefinition.setValue(instance, columns.get(i).getEntityFieldName(), state[i]);
+            }
+            setAssociation(null, instance);
+            return instance;
+        } catch (NoSuchFieldException | SQLException e) {
+            throw new IllegalStateException("Failed to assemble " + clazz.getName(), e);
+        }
+    }
 }
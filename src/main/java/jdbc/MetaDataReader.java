@@ -0,0 +1,9 @@
+package jdbc;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface MetaDataReader<T> {
+    T read(final DatabaseMetaData metaData, final String schema) throws SQLException;
+}
@@ -0,0 +1,20 @@
+package jdbc;
+
+public interface ResultSetSharing {
+    ResultSetSharing NONE = new ResultSetSharing() {
+        @Override
+        public boolean seal() {
+            return false;
+        }
+
+        @Override
+        public void share(ResultSetSnapshot snapshot) {
+        }
+    };
+
+    // called once the query returned, no reader can join afterwards.
+    // true when someone joined and the rows have to be copied for them
+    boolean seal();
+
+    void share(ResultSetSnapshot snapshot);
+}
@@ -0,0 +1,205 @@
+package jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+// disconnected copy of a result set, so several sessions can hydrate their own entities from one fetch
+public class ResultSetSnapshot {
+    private final Map<String, Integer> columnIndexes;
+    private final List<Object[]> rows;
+
+    private ResultSetSnapshot(Map<String, Integer> columnIndexes, List<Object[]> rows) {
+        this.columnIndexes = columnIndexes;
+        this.rows = rows;
+    }
+
+    public static ResultSetSnapshot of(ResultSet resultSet) throws SQLException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final int columnCount = metaData.getColumnCount();
+
+        final Map<String, Integer> columnIndexes = new HashMap<>();
+        for (int i = 1; i <= columnCount; i++) {
+            columnIndexes.putIfAbsent(metaData.getColumnLabel(i).toUpperCase(Locale.ROOT), i);
+        }
+
+        final List<Object[]> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            final Object[] row = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                row[i - 1] = resultSet.getObject(i);
+            }
+            rows.add(row);
+        }
+        return new ResultSetSnapshot(Map.copyOf(columnIndexes), List.copyOf(rows));
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // each call gets its own cursor positioned before the first row
+    public ResultSet newResultSet() {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class[]{ResultSet.class},
+                new Cursor()
+        );
+    }
+
+    private class Cursor implements InvocationHandler {
+        private int position = -1;
+        private boolean closed = false;
+        private boolean lastWasNull = false;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // calendar and type-map overloads need driver state the copy does not keep
+            if (args != null && args.length == 2 && (args[1] instanceof Calendar || args[1] instanceof Map)) {
+                throw unsupported(method);
+            }
+
+            return switch (method.getName()) {
+                case "next" -> ++position < rows.size();
+                case "getObject" -> args.length == 2 ? convert(read(args[0]), (Class<?>) args[1]) : read(args[0]);
+                case "getString" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? null : value.toString();
+                }
+                case "getLong" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? 0L : ((Number) value).longValue();
+                }
+                case "getInt" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? 0 : ((Number) value).intValue();
+                }
+                case "getBoolean" -> {
+                    final Object value = read(args[0]);
+                    yield value != null && (Boolean) value;
+                }
+                case "getDouble" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? 0.0d : ((Number) value).doubleValue();
+                }
+                case "getShort" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? (short) 0 : ((Number) value).shortValue();
+                }
+                case "getByte" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? (byte) 0 : ((Number) value).byteValue();
+                }
+                case "getFloat" -> {
+                    final Object value = read(args[0]);
+                    yield value == null ? 0.0f : ((Number) value).floatValue();
+                }
+                case "getBigDecimal" -> convert(read(args[0]), BigDecimal.class);
+                case "getBytes" -> read(args[0]);
+                case "getTimestamp" -> convert(read(args[0]), Timestamp.class);
+                case "getDate" -> convert(read(args[0]), Date.class);
+                case "getTime" -> convert(read(args[0]), Time.class);
+                case "findColumn" -> indexOf((String) args[0]);
+                case "wasNull" -> lastWasNull;
+                case "getRow" -> position >= 0 && position < rows.size() ? position + 1 : 0;
+                case "isBeforeFirst" -> position < 0 && !rows.isEmpty();
+                case "isAfterLast" -> position >= rows.size() && !rows.isEmpty();
+                case "isFirst" -> position == 0 && !rows.isEmpty();
+                case "isLast" -> position == rows.size() - 1 && !rows.isEmpty();
+                case "getType" -> ResultSet.TYPE_FORWARD_ONLY;
+                case "getConcurrency" -> ResultSet.CONCUR_READ_ONLY;
+                case "getWarnings" -> null;
+                case "clearWarnings" -> null;
+                case "close" -> {
+                    closed = true;
+                    yield null;
+                }
+                case "isClosed" -> closed;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "ResultSetSnapshot" + rows.size();
+                // the copy is read-only and forward-only, anything else fails the way a driver reports a missing feature
+                default -> throw unsupported(method);
+            };
+        }
+
+        private static SQLFeatureNotSupportedException unsupported(Method method) {
+            return new SQLFeatureNotSupportedException(
+                    "ResultSet." + method.getName() + " is not supported on a result set snapshot");
+        }
+
+        private Object read(Object column) throws SQLException {
+            if (position < 0 || position >= rows.size()) {
+                throw new SQLException("Cursor is not on a row");
+            }
+
+            final int index = column instanceof Integer columnIndex ? columnIndex : indexOf((String) column);
+            final Object value = rows.get(position)[index - 1];
+            lastWasNull = value == null;
+            return value;
+        }
+
+        // getObject(column, type) on the driver converts, the snapshot only holds what getObject(column) returned
+        private Object convert(Object value, Class<?> type) throws SQLException {
+            if (value == null || type.isInstance(value)) {
+                return value;
+            }
+            if (type == Timestamp.class && value instanceof LocalDateTime localDateTime) {
+                return Timestamp.valueOf(localDateTime);
+            }
+            if (type == Timestamp.class && value instanceof OffsetDateTime offsetDateTime) {
+                return Timestamp.from(offsetDateTime.toInstant());
+            }
+            if (type == Date.class && value instanceof LocalDate localDate) {
+                return Date.valueOf(localDate);
+            }
+            if (type == Time.class && value instanceof LocalTime localTime) {
+                return Time.valueOf(localTime);
+            }
+            if (type == Instant.class && value instanceof OffsetDateTime offsetDateTime) {
+                return offsetDateTime.toInstant();
+            }
+            if (type == Instant.class && value instanceof Timestamp timestamp) {
+                return timestamp.toInstant();
+            }
+            if (type == LocalDate.class && value instanceof Date date) {
+                return date.toLocalDate();
+            }
+            if (type == BigDecimal.class && value instanceof Number number) {
+                return new BigDecimal(number.toString());
+            }
+            if (type == UUID.class && value instanceof String string) {
+                return UUID.fromString(string);
+            }
+            throw new SQLException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+        }
+
+        private int indexOf(String columnLabel) throws SQLException {
+            final Integer index = columnIndexes.get(columnLabel.toUpperCase(Locale.ROOT));
+            if (index == null) {
+                throw new SQLException("Column not found: " + columnLabel);
+            }
+            return index;
+        }
+    }
+}
@@ -1,59 +1,45 @@
 package jdbc;
 
-import persistence.entity.EntityPersister;
+import persistence.entity.AutoFlushHandler;
 import persistence.meta.Metamodel;
+import persistence.sql.definition.TableAssociationDefinition;
+import persistence.sql.definition.TableDefinition;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class RowMapperFactory {
-    private final Map<Class<?>, EagerFetchRowMapper<?>> eagerFetchRowMappers;
-    private final Map<Class<?>, LazyFetchRowMapper<?>> lazyFetchRowMappers;
+    // eager mappers only hold table definitions, so one instance serves every session of a factory
+    private final ConcurrentMap<Class<?>, EagerFetchRowMapper<?>> eagerFetchRowMappers;
 
-    private RowMapperFactory() {
-        this.eagerFetchRowMappers = new HashMap<>();
-        this.lazyFetchRowMappers = new HashMap<>();
+    public RowMapperFactory() {
+        this.eagerFetchRowMappers = new ConcurrentHashMap<>();
     }
 
-    private static class InstanceHolder {
-        private static final RowMapperFactory INSTANCE = new RowMapperFactory();
-    }
-
-    public static RowMapperFactory getInstance() {
-        return InstanceHolder.INSTANCE;
+    public <T> RowMapper<T> getRowMapper(Class<T> targetClass, Metamodel metamodel, JdbcTemplate jdbcTemplate) {
+        return getRowMapper(targetClass, metamodel, jdbcTemplate, AutoFlushHandler.NONE);
     }
 
     @SuppressWarnings("unchecked")
-    public <T> RowMapper<T> getRowMapper(Class<T> targetClass, Metamodel metamodel, JdbcTemplate jdbcTemplate) {
-        RowMapper<T> rowMapper = findCachedRowMapper(targetClass);
-        if (rowMapper != null) {
-            return rowMapper;
+    public <T> RowMapper<T> getRowMapper(Class<T> targetClass,
+                                         Metamodel metamodel,
+                                         JdbcTemplate jdbcTemplate,
+                                         AutoFlushHandler autoFlushHandler) {
+        final EagerFetchRowMapper<?> cached = eagerFetchRowMappers.get(targetClass);
+        if (cached != null) {
+            return (RowMapper<T>) cached;
         }
-        final EntityPersister entityPersister = metamodel.findEntityPersister(targetClass);
-        for (var association : entityPersister.getAssociations()) {
+
+        final TableDefinition tableDefinition = metamodel.findEntityPersister(targetClass).getTableDefinition();
+        for (TableAssociationDefinition association : tableDefinition.getAssociations()) {
             if (association.isEager()) {
+                final TableDefinition associatedDefinition =
+                        metamodel.findEntityPersister(association.getAssociatedEntityClass()).getTableDefinition();
                 return (RowMapper<T>) eagerFetchRowMappers.computeIfAbsent(targetClass,
-                        k -> new EagerFetchRowMapper<>(targetClass,
-                                metamodel.findEntityPersister(targetClass),
-                                metamodel.findEntityPersister(association.getAssociatedEntityClass())
-                        ));
+                        k -> new EagerFetchRowMapper<>(targetClass, tableDefinition, associatedDefinition));
             }
         }
-        return (RowMapper<T>) lazyFetchRowMappers.computeIfAbsent(targetClass,
-                k -> new LazyFetchRowMapper<>(targetClass,
-                        jdbcTemplate,
-                        metamodel
-                ));
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T> RowMapper<T> findCachedRowMapper(Class<T> targetClass) {
-        if (eagerFetchRowMappers.containsKey(targetClass)) {
-            return (RowMapper<T>) eagerFetchRowMappers.get(targetClass);
-        }
-        if (lazyFetchRowMappers.containsKey(targetClass)) {
-            return (RowMapper<T>) lazyFetchRowMappers.get(targetClass);
-        }
-        return null;
+        // lazy mappers hand out loaders bound to the calling session, so they are not cached
+        return new LazyFetchRowMapper<>(targetClass, jdbcTemplate, metamodel, autoFlushHandler);
     }
 }
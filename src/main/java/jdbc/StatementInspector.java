@@ -0,0 +1,9 @@
+package jdbc;
+
+// a forked template shares its inspectors, so they may be called from several threads at once
+@FunctionalInterface
+public interface StatementInspector {
+
+    // returns the SQL to run, which may be the given statement itself
+    String inspect(String sql);
+}
@@ -0,0 +1,67 @@
+package persistence.action;
+
+import persistence.sql.definition.TableAssociationDefinition;
+import persistence.sql.definition.TableDefinition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ActionOrdering {
+    public static final ActionOrdering NONE = new ActionOrdering(List.of());
+
+    private final Map<Class<?>, Integer> ranks;
+
+    public ActionOrdering(List<TableDefinition> tableDefinitions) {
+        this.ranks = rank(tableDefinitions);
+    }
+
+    // parents get a lower rank than the entities holding their foreign key
+    private static Map<Class<?>, Integer> rank(List<TableDefinition> tableDefinitions) {
+        final Map<Class<?>, Set<Class<?>>> children = new LinkedHashMap<>();
+        final Map<Class<?>, Integer> inDegrees = new HashMap<>();
+        tableDefinitions.forEach(table -> {
+            children.putIfAbsent(table.getEntityClass(), new LinkedHashSet<>());
+            inDegrees.putIfAbsent(table.getEntityClass(), 0);
+        });
+
+        for (TableDefinition table : tableDefinitions) {
+            for (TableAssociationDefinition association : table.getAssociations()) {
+                final Class<?> child = association.getAssociatedEntityClass();
+                if (child.equals(table.getEntityClass()) || !children.containsKey(child)) {
+                    continue;
+                }
+                if (children.get(table.getEntityClass()).add(child)) {
+                    inDegrees.merge(child, 1, Integer::sum);
+                }
+            }
+        }
+
+        final Deque<Class<?>> ready = new ArrayDeque<>();
+        children.keySet().stream().filter(clazz -> inDegrees.get(clazz) == 0).forEach(ready::add);
+
+        final Map<Class<?>, Integer> ranks = new HashMap<>();
+        while (!ready.isEmpty()) {
+            final Class<?> clazz = ready.poll();
+            ranks.put(clazz, ranks.size());
+            for (Class<?> child : children.get(clazz)) {
+                if (inDegrees.merge(child, -1, Integer::sum) == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+
+        // entities on a cycle keep their declaration order after everything else
+        children.keySet().forEach(clazz -> ranks.putIfAbsent(clazz, ranks.size()));
+        return Map.copyOf(ranks);
+    }
+
+    public int rankOf(Class<?> entityClass) {
+        return ranks.getOrDefault(entityClass, Integer.MAX_VALUE);
+    }
+}
@@ -1,52 +1,133 @@
 package persistence.action;
 
-import java.util.LinkedList;
+import persistence.cache.CollectionCache;
+import persistence.cache.UpdateTimestampsCache;
+import persistence.entity.EntityKey;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class ActionQueue {
-    private final List<EntityInsertAction> insertions;
-    private final List<EntityCollectionInsertAction> collectionInsertions;
-    private final List<EntityDeleteAction> deletions;
-    private final List<EntityUpdateAction> updates;
+    // actions keep Object.equals, so these sets are identity-keyed and a cancelled insert is removed in constant time
+    private final Set<EntityInsertAction> insertions;
+    private final Set<EntityCollectionInsertAction> collectionInsertions;
+    private final Map<EntityKey, EntityDeleteAction> deletions;
+    private final Map<EntityKey, EntityUpdateAction> updates;
 
-    private final List<EntityInsertAction> resolvedInsertions;
+    // entity instances are looked up by identity, equals() of user entities is not trusted
+    private final Map<Object, EntityInsertAction> pendingInsertions;
+    private final Map<Object, List<EntityCollectionInsertAction>> collectionInsertionsByParent;
+    private final Set<Object> resolvedEntities;
+    private final ActionOrdering ordering;
+    private final UpdateTimestampsCache updateTimestamps;
+    private final CollectionCache collectionCache;
+    private Set<String> transactionSpaces;
+    // collections evicted by this transaction, evicted again on completion
+    private Set<EntityKey> transactionOwners;
+    private Set<EntityKey> transactionElements;
 
     public ActionQueue() {
-        insertions = new LinkedList<>();
-        collectionInsertions = new LinkedList<>();
-        deletions = new LinkedList<>();
-        updates = new LinkedList<>();
+        this(ActionOrdering.NONE);
+    }
+
+    public ActionQueue(ActionOrdering ordering) {
+        this(ordering, new UpdateTimestampsCache());
+    }
 
-        resolvedInsertions = new LinkedList<>();
+    public ActionQueue(ActionOrdering ordering, UpdateTimestampsCache updateTimestamps) {
+        this(ordering, updateTimestamps, CollectionCache.disabled());
+    }
+
+    public ActionQueue(ActionOrdering ordering,
+                       UpdateTimestampsCache updateTimestamps,
+                       CollectionCache collectionCache) {
+        this.ordering = ordering;
+        this.updateTimestamps = updateTimestamps;
+        this.collectionCache = collectionCache;
+        insertions = new LinkedHashSet<>();
+        collectionInsertions = new LinkedHashSet<>();
+        deletions = new LinkedHashMap<>();
+        updates = new LinkedHashMap<>();
+
+        pendingInsertions = new IdentityHashMap<>();
+        collectionInsertionsByParent = new IdentityHashMap<>();
+        resolvedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     public void addAction(EntityInsertAction action) {
         if (action.isEarlyInsert()) {
-            action.execute();
-            resolvedInsertions.add(action);
+            execute(action);
+            resolvedEntities.add(action.getEntity());
             return;
         }
 
         insertions.add(action);
+        pendingInsertions.put(action.getEntity(), action);
     }
 
     public void addAction(EntityDeleteAction action) {
-        deletions.add(action);
+        // the row was never written, so dropping the pending insert is enough
+        if (removeInsertion(action.getEntity())) {
+            return;
+        }
+
+        final EntityKey entityKey = action.getEntityKey();
+        updates.remove(entityKey);
+        deletions.putIfAbsent(entityKey, action);
     }
 
     public void addAction(EntityUpdateAction action) {
-        updates.add(action);
+        // a pending insert writes the entity state as of flush time
+        if (findInsertion(action.getEntity()) != null) {
+            return;
+        }
+
+        final EntityKey entityKey = action.getEntityKey();
+        if (deletions.containsKey(entityKey)) {
+            return;
+        }
+
+        updates.put(entityKey, action);
+    }
+
+    public EntityInsertAction findInsertion(Object entity) {
+        return pendingInsertions.get(entity);
+    }
+
+    private boolean removeInsertion(Object entity) {
+        final EntityInsertAction insertion = pendingInsertions.remove(entity);
+        if (insertion == null) {
+            return false;
+        }
+
+        insertions.remove(insertion);
+        final List<EntityCollectionInsertAction> children = collectionInsertionsByParent.remove(entity);
+        if (children != null) {
+            children.forEach(collectionInsertions::remove);
+        }
+        return true;
     }
 
     public void addAction(EntityCollectionInsertAction action) {
-        for (EntityInsertAction insertion : resolvedInsertions) {
-            if (insertion.getEntity().equals(action.getParentEntity())) {
-                action.execute();
-                return;
-            }
+        if (resolvedEntities.contains(action.getParentEntity())) {
+            execute(action);
+            return;
         }
 
         collectionInsertions.add(action);
+        collectionInsertionsByParent.computeIfAbsent(action.getParentEntity(), parent -> new ArrayList<>()).add(action);
     }
 
     public void clear() {
@@ -54,14 +135,202 @@ public class ActionQueue {
         collectionInsertions.clear();
         deletions.clear();
         updates.clear();
-        resolvedInsertions.clear();
+        pendingInsertions.clear();
+        collectionInsertionsByParent.clear();
+        resolvedEntities.clear();
     }
 
     public void executeAll() {
-        insertions.forEach(EntityInsertAction::execute);
-        collectionInsertions.forEach(EntityCollectionInsertAction::execute);
-        updates.forEach(EntityUpdateAction::execute);
-        deletions.forEach(EntityDeleteAction::execute);
+        executeMatching(action -> true);
+    }
+
+    public boolean areTablesToBeUpdated(Set<String> querySpaces) {
+        return areTablesToBeUpdated(insertions, querySpaces)
+                || areTablesToBeUpdated(collectionInsertions, querySpaces)
+                || areTablesToBeUpdated(updates.values(), querySpaces)
+                || areTablesToBeUpdated(deletions.values(), querySpaces);
+    }
+
+    private static boolean areTablesToBeUpdated(Collection<? extends Executable> actions, Set<String> querySpaces) {
+        for (Executable action : actions) {
+            if (overlaps(action, querySpaces)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void executeActions(Set<String> querySpaces) {
+        final Set<String> spaces = new HashSet<>(querySpaces);
+
+        // collection insertions read the parent id, so pending parent inserts must run with them
+        for (EntityCollectionInsertAction action : collectionInsertions) {
+            if (overlaps(action, spaces)) {
+                spaces.addAll(action.getQuerySpaces());
+            }
+        }
+
+        executeMatching(action -> overlaps(action, spaces));
     }
 
+    // an action leaves its queue only once it ran, a failure mid-flush keeps the rest pending
+    private void executeMatching(Predicate<Executable> filter) {
+        final List<EntityInsertAction> insertions = select(this.insertions, filter);
+        final List<EntityCollectionInsertAction> collectionInsertions = select(this.collectionInsertions, filter);
+        final List<EntityUpdateAction> updates = select(this.updates.values(), filter);
+        final List<EntityDeleteAction> deletions = select(this.deletions.values(), filter);
+
+        execute(insertions, false, insertion -> {
+            this.insertions.remove(insertion);
+            pendingInsertions.remove(insertion.getEntity());
+            resolvedEntities.add(insertion.getEntity());
+        });
+        execute(collectionInsertions, false, collectionInsertion -> {
+            this.collectionInsertions.remove(collectionInsertion);
+            unindex(collectionInsertion);
+        });
+        execute(updates, false, update -> this.updates.remove(update.getEntityKey(), update));
+        execute(deletions, true, deletion -> this.deletions.remove(deletion.getEntityKey(), deletion));
+    }
+
+    // a parent has one collection insertion per association, the list stays short
+    private void unindex(EntityCollectionInsertAction action) {
+        final List<EntityCollectionInsertAction> siblings = collectionInsertionsByParent.get(action.getParentEntity());
+        if (siblings == null) {
+            return;
+        }
+        siblings.remove(action);
+        if (siblings.isEmpty()) {
+            collectionInsertionsByParent.remove(action.getParentEntity());
+        }
+    }
+
+    private static <T extends Executable> List<T> select(Collection<T> actions, Predicate<Executable> filter) {
+        final List<T> selected = new ArrayList<>();
+        for (T action : actions) {
+            if (filter.test(action)) {
+                selected.add(action);
+            }
+        }
+        return selected;
+    }
+
+    // parents are written before the children referencing them and deleted after them,
+    // statements for the same table stay adjacent so they can be batched
+    private <T extends Executable> void execute(List<T> actions, boolean reverse, Consumer<T> executed) {
+        final Map<Class<?>, Integer> appearance = new HashMap<>();
+        actions.forEach(action -> appearance.putIfAbsent(action.getEntityClass(), appearance.size()));
+
+        Comparator<Executable> comparator = Comparator
+                .<Executable>comparingInt(action -> ordering.rankOf(action.getEntityClass()))
+                .thenComparingInt(action -> appearance.get(action.getEntityClass()));
+        if (reverse) {
+            comparator = comparator.reversed();
+        }
+
+        actions.sort(comparator);
+        int index = 0;
+        while (index < actions.size()) {
+            final List<EntityInsertAction> batch = insertBatch(actions, index);
+            if (batch.size() > 1) {
+                final EntityInsertAction first = batch.get(0);
+                execute(new EntityBatchInsertAction(first.getSource(), first.getEntityPersister(), batch));
+                actions.subList(index, index + batch.size()).forEach(executed);
+                index += batch.size();
+                continue;
+            }
+            execute(actions.get(index));
+            executed.accept(actions.get(index));
+            index++;
+        }
+    }
+
+    // sorting keeps insertions into one table adjacent, a run of them with client-generated ids is one JDBC batch
+    private static List<EntityInsertAction> insertBatch(List<? extends Executable> actions, int from) {
+        final List<EntityInsertAction> batch = new ArrayList<>();
+        for (int i = from; i < actions.size(); i++) {
+            if (!(actions.get(i) instanceof EntityInsertAction insertion) || !insertion.isBatchable()) {
+                break;
+            }
+            if (!batch.isEmpty() && batch.get(0).getEntityClass() != insertion.getEntityClass()) {
+                break;
+            }
+            batch.add(insertion);
+        }
+        return batch;
+    }
+
+    // cached query results over the written tables become stale as soon as the statement runs
+    private void execute(Executable action) {
+        action.execute();
+        updateTimestamps.invalidate(action.getQuerySpaces());
+        evictCollections(action);
+        if (transactionSpaces != null) {
+            transactionSpaces.addAll(action.getQuerySpaces());
+        }
+    }
+
+    private void evictCollections(Executable action) {
+        if (action instanceof EntityCollectionInsertAction collectionInsertion) {
+            evictOwner(collectionInsertion.getParentEntityKey());
+        } else if (action instanceof EntityUpdateAction update) {
+            evictElement(update.getEntityKey());
+        } else if (action instanceof EntityDeleteAction deletion) {
+            evictOwner(deletion.getEntityKey());
+            evictElement(deletion.getEntityKey());
+        }
+    }
+
+    private void evictOwner(EntityKey owner) {
+        collectionCache.evictOwner(owner);
+        if (transactionOwners != null) {
+            transactionOwners.add(owner);
+        }
+    }
+
+    private void evictElement(EntityKey element) {
+        collectionCache.evictElement(element);
+        if (transactionElements != null) {
+            transactionElements.add(element);
+        }
+    }
+
+    public void beginTransaction() {
+        transactionSpaces = new HashSet<>();
+        transactionOwners = new HashSet<>();
+        transactionElements = new HashSet<>();
+    }
+
+    // other sessions may have cached committed rows while this transaction was writing.
+    // the timestamps keep out a fill still in flight, the evictions drop the ones already made
+    public void afterTransactionCompletion() {
+        if (transactionSpaces != null) {
+            updateTimestamps.invalidate(transactionSpaces);
+            transactionOwners.forEach(collectionCache::evictOwner);
+            transactionElements.forEach(collectionCache::evictElement);
+            transactionSpaces = null;
+            transactionOwners = null;
+            transactionElements = null;
+        }
+    }
+
+    public int numberOfInsertions() {
+        return insertions.size();
+    }
+
+    public int numberOfCollectionInsertions() {
+        return collectionInsertions.size();
+    }
+
+    public int numberOfUpdates() {
+        return updates.size();
+    }
+
+    public int numberOfDeletions() {
+        return deletions.size();
+    }
+
+    private static boolean overlaps(Executable action, Collection<String> querySpaces) {
+        return !Collections.disjoint(action.getQuerySpaces(), querySpaces);
+    }
 }
@@ -0,0 +1,41 @@
+package persistence.action;
+
+import persistence.entity.EntityPersister;
+import persistence.event.EventSource;
+
+import java.util.List;
+import java.util.Set;
+
+// adjacent insertions into one table whose ids were assigned on the client
+public class EntityBatchInsertAction extends BaseInsertAction implements Executable {
+
+    private final EventSource source;
+    private final EntityPersister entityPersister;
+    private final List<EntityInsertAction> insertions;
+
+    public EntityBatchInsertAction(EventSource source,
+                                   EntityPersister entityPersister,
+                                   List<EntityInsertAction> insertions) {
+        this.source = source;
+        this.entityPersister = entityPersister;
+        this.insertions = insertions;
+    }
+
+    @Override
+    public void execute() {
+        entityPersister.insertAll(insertions.stream().map(EntityInsertAction::getEntity).toList());
+        insertions.forEach(insertion ->
+                managePersistedEntity(source, entityPersister, insertion.getEntity(), insertion.getEntry())
+        );
+    }
+
+    @Override
+    public Set<String> getQuerySpaces() {
+        return Set.of(entityPersister.getTableName());
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return entityPersister.getEntityClass();
+    }
+}
@@ -2,13 +2,15 @@ package persistence.action;
 
 import persistence.entity.CollectionPersister;
 import persistence.entity.EntityEntry;
+import persistence.entity.EntityKey;
 import persistence.entity.EntityPersister;
 import persistence.event.EventSource;
 import persistence.sql.definition.TableAssociationDefinition;
 
 import java.util.Collection;
+import java.util.Set;
 
-public class EntityCollectionInsertAction extends BaseInsertAction {
+public class EntityCollectionInsertAction extends BaseInsertAction implements Executable {
     private final EventSource source;
     private final Object parentEntity;
     private final CollectionPersister collectionPersister;
@@ -24,6 +26,7 @@ public class EntityCollectionInsertAction extends BaseInsertAction {
         this.association = association;
     }
 
+    @Override
     public void execute() {
         final Collection<Object> childEntities = collectionPersister.insertCollection(parentEntity, association);
 
@@ -34,7 +37,22 @@ public class EntityCollectionInsertAction extends BaseInsertAction {
         });
     }
 
+    @Override
+    public Set<String> getQuerySpaces() {
+        return collectionPersister.getQuerySpaces();
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return association.getAssociatedEntityClass();
+    }
+
     public Object getParentEntity() {
         return parentEntity;
     }
+
+    public EntityKey getParentEntityKey() {
+        final EntityPersister parentPersister = source.findEntityPersister(parentEntity.getClass());
+        return new EntityKey(parentPersister.getEntityId(parentEntity), parentEntity.getClass());
+    }
 }
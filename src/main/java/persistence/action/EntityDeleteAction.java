@@ -6,7 +6,9 @@ import persistence.entity.EntityKey;
 import persistence.entity.EntityPersister;
 import persistence.event.EventSource;
 
-public class EntityDeleteAction {
+import java.util.Set;
+
+public class EntityDeleteAction implements Executable {
 
     private static final Logger logger = LoggerFactory.getLogger(EntityDeleteAction.class);
 
@@ -23,15 +25,32 @@ public class EntityDeleteAction {
         this.entityPersister = entityPersister;
     }
 
+    public Object getEntity() {
+        return entity;
+    }
+
+    public EntityKey getEntityKey() {
+        return new EntityKey(entityPersister.getEntityId(entity), entity.getClass());
+    }
+
+    @Override
     public void execute() {
         entityPersister.delete(entity);
 
-        source.getPersistenceContext().removeEntity(
-                new EntityKey(entityPersister.getEntityId(entity), entity.getClass())
-        );
+        source.getPersistenceContext().removeEntity(getEntityKey());
 
         logger.info("""
                 Entity with id {} and class {} has been deleted.
                 """, entityPersister.getEntityId(entity), entity.getClass().getName());
     }
+
+    @Override
+    public Set<String> getQuerySpaces() {
+        return Set.of(entityPersister.getTableName());
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return entity.getClass();
+    }
 }
@@ -4,7 +4,9 @@ import persistence.entity.EntityEntry;
 import persistence.entity.EntityPersister;
 import persistence.event.EventSource;
 
-public class EntityInsertAction extends BaseInsertAction{
+import java.util.Set;
+
+public class EntityInsertAction extends BaseInsertAction implements Executable {
 
     private final EventSource source;
     private final Object entity;
@@ -25,13 +27,40 @@ public class EntityInsertAction extends BaseInsertAction{
         return entityPersister.isIdentityIdentifier();
     }
 
+    public boolean isBatchable() {
+        return entityPersister.isClientGeneratedIdentifier();
+    }
+
+    public EventSource getSource() {
+        return source;
+    }
+
+    public EntityPersister getEntityPersister() {
+        return entityPersister;
+    }
+
     public Object getEntity() {
         return entity;
     }
 
+    public EntityEntry getEntry() {
+        return entry;
+    }
+
+    @Override
     public void execute() {
         entityPersister.insert(entity);
         managePersistedEntity(source, entityPersister, entity, entry);
     }
 
+    @Override
+    public Set<String> getQuerySpaces() {
+        return Set.of(entityPersister.getTableName());
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return entity.getClass();
+    }
+
 }
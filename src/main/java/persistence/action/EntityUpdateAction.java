@@ -1,8 +1,11 @@
 package persistence.action;
 
+import persistence.entity.EntityKey;
 import persistence.entity.EntityPersister;
 
-public class EntityUpdateAction {
+import java.util.Set;
+
+public class EntityUpdateAction implements Executable {
 
     private final Object entity;
     private final EntityPersister entityPersister;
@@ -14,7 +17,26 @@ public class EntityUpdateAction {
         this.entityPersister = entityPersister;
     }
 
+    public Object getEntity() {
+        return entity;
+    }
+
+    public EntityKey getEntityKey() {
+        return new EntityKey(entityPersister.getEntityId(entity), entity.getClass());
+    }
+
+    @Override
     public void execute() {
         entityPersister.update(entity);
     }
+
+    @Override
+    public Set<String> getQuerySpaces() {
+        return Set.of(entityPersister.getTableName());
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return entity.getClass();
+    }
 }
@@ -0,0 +1,12 @@
+package persistence.action;
+
+import java.util.Set;
+
+public interface Executable {
+
+    void execute();
+
+    Set<String> getQuerySpaces();
+
+    Class<?> getEntityClass();
+}
@@ -0,0 +1,133 @@
+package persistence.cache;
+
+import persistence.entity.EntityKey;
+import persistence.entity.EntityPersister;
+import persistence.sql.definition.ColumnDefinitionAware;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+public class CollectionCache {
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UpdateTimestampsCache updateTimestamps;
+    private final ConcurrentMap<CollectionKey, CachedCollection> collections = new ConcurrentHashMap<>();
+    // element column values, so a cached collection is rebuilt without touching the database
+    private final ConcurrentMap<EntityKey, Object[]> elements = new ConcurrentHashMap<>();
+    // reverse indexes, eviction touches only the collections of the owner or element written
+    private final ConcurrentMap<EntityKey, Set<CollectionKey>> collectionsByOwner = new ConcurrentHashMap<>();
+    private final ConcurrentMap<EntityKey, Set<CollectionKey>> collectionsByElement = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public CollectionCache() {
+        this(new UpdateTimestampsCache());
+    }
+
+    public CollectionCache(UpdateTimestampsCache updateTimestamps) {
+        this.updateTimestamps = updateTimestamps;
+    }
+
+    public static CollectionCache disabled() {
+        return new CollectionCache();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            collections.clear();
+            elements.clear();
+            collectionsByOwner.clear();
+            collectionsByElement.clear();
+        }
+    }
+
+    // read before the collection is queried, a write committed in between keeps the result out of the cache
+    public long timestamp() {
+        return updateTimestamps.next();
+    }
+
+    public <T> List<T> get(EntityKey owner, String role,
+                           EntityPersister elementPersister,
+                           Function<Object[], T> assembler) {
+        final CachedCollection cached = collections.get(new CollectionKey(owner, role));
+        if (cached == null) {
+            return null;
+        }
+
+        final List<T> result = new ArrayList<>(cached.elementIds().length);
+        for (Serializable elementId : cached.elementIds()) {
+            final Object[] state = elements.get(new EntityKey(elementId, elementPersister.getEntityClass()));
+            if (state == null) {
+                return null;
+            }
+            result.add(assembler.apply(state));
+        }
+        return result;
+    }
+
+    public boolean put(EntityKey owner, String role, EntityPersister elementPersister, List<?> collection,
+                    Set<String> spaces, long timestamp) {
+        if (collections.size() >= MAX_ENTRIES || !updateTimestamps.isUpToDate(spaces, timestamp)) {
+            return false;
+        }
+
+        final CollectionKey collectionKey = new CollectionKey(owner, role);
+        final List<? extends ColumnDefinitionAware> columns = elementPersister.getColumns();
+        final Serializable[] elementIds = new Serializable[collection.size()];
+        for (int i = 0; i < elementIds.length; i++) {
+            final Object element = collection.get(i);
+            final Object[] state = new Object[columns.size()];
+            for (int j = 0; j < state.length; j++) {
+                state[j] = elementPersister.getValue(element, columns.get(j));
+            }
+            elementIds[i] = elementPersister.getEntityId(element);
+            final EntityKey elementKey = new EntityKey(elementIds[i], elementPersister.getEntityClass());
+            elements.put(elementKey, state);
+            collectionsByElement.computeIfAbsent(elementKey, key -> ConcurrentHashMap.newKeySet()).add(collectionKey);
+        }
+        collectionsByOwner.computeIfAbsent(owner, key -> ConcurrentHashMap.newKeySet()).add(collectionKey);
+        collections.put(collectionKey, new CachedCollection(elementIds));
+
+        // an eviction may have run between the check above and the put
+        if (!updateTimestamps.isUpToDate(spaces, timestamp)) {
+            collections.remove(collectionKey);
+            return false;
+        }
+        return true;
+    }
+
+    public void evictOwner(EntityKey owner) {
+        final Set<CollectionKey> keys = collectionsByOwner.remove(owner);
+        if (keys != null) {
+            keys.forEach(collections::remove);
+        }
+    }
+
+    // the owner of a deleted or updated element is not known, the index tells which collections hold it
+    public void evictElement(EntityKey element) {
+        elements.remove(element);
+        final Set<CollectionKey> keys = collectionsByElement.remove(element);
+        if (keys != null) {
+            keys.forEach(collections::remove);
+        }
+    }
+
+    public int size() {
+        return collections.size();
+    }
+
+    private record CollectionKey(EntityKey owner, String role) {
+    }
+
+    private record CachedCollection(Serializable[] elementIds) {
+    }
+}
@@ -0,0 +1,82 @@
+package persistence.cache;
+
+import jdbc.JdbcTemplate;
+import jdbc.ResultSetSnapshot;
+import jdbc.RowMapper;
+import persistence.stat.StatisticsImpl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class QueryResultsCache {
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UpdateTimestampsCache updateTimestamps;
+    private final ConcurrentMap<String, CachedResult> results = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public QueryResultsCache(UpdateTimestampsCache updateTimestamps) {
+        this.updateTimestamps = updateTimestamps;
+    }
+
+    public static QueryResultsCache disabled() {
+        return new QueryResultsCache(new UpdateTimestampsCache());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            results.clear();
+        }
+    }
+
+    // SQL here carries its parameter values inline, so the statement text is the whole key
+    public <T> List<T> query(JdbcTemplate jdbcTemplate, String sql, Set<String> spaces, RowMapper<T> rowMapper) {
+        // a session inside a transaction may read its own uncommitted rows, which must not be shared
+        if (!enabled || !jdbcTemplate.getAutoCommit()) {
+            return jdbcTemplate.query(sql, rowMapper);
+        }
+
+        final StatisticsImpl statistics = jdbcTemplate.getStatistics();
+        final ResultSetSnapshot cached = get(sql, spaces);
+        if (cached != null) {
+            statistics.cacheHit();
+            return jdbcTemplate.query(cached, rowMapper);
+        }
+        statistics.cacheMiss();
+
+        final long timestamp = updateTimestamps.next();
+        final ResultSetSnapshot snapshot = jdbcTemplate.querySnapshot(sql);
+        if (results.size() < MAX_ENTRIES) {
+            results.put(sql, new CachedResult(snapshot, spaces, timestamp));
+            statistics.cachePut();
+        }
+        return jdbcTemplate.query(snapshot, rowMapper);
+    }
+
+    private ResultSetSnapshot get(String sql, Set<String> spaces) {
+        final CachedResult cached = results.get(sql);
+        if (cached == null) {
+            return null;
+        }
+
+        if (!cached.spaces().equals(spaces) || !updateTimestamps.isUpToDate(cached.spaces(), cached.timestamp())) {
+            results.remove(sql, cached);
+            return null;
+        }
+        return cached.snapshot();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    private record CachedResult(ResultSetSnapshot snapshot, Set<String> spaces, long timestamp) {
+    }
+}
@@ -0,0 +1,31 @@
+package persistence.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UpdateTimestampsCache {
+    // a logical clock, so a write and a query never share a timestamp
+    private final AtomicLong clock = new AtomicLong();
+    private final ConcurrentMap<String, Long> timestamps = new ConcurrentHashMap<>();
+
+    public long next() {
+        return clock.incrementAndGet();
+    }
+
+    public void invalidate(Set<String> spaces) {
+        final long timestamp = next();
+        spaces.forEach(space -> timestamps.merge(space, timestamp, Math::max));
+    }
+
+    public boolean isUpToDate(Set<String> spaces, long timestamp) {
+        for (String space : spaces) {
+            final Long lastUpdate = timestamps.get(space);
+            if (lastUpdate != null && lastUpdate >= timestamp) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
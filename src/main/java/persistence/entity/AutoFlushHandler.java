@@ -0,0 +1,11 @@
+package persistence.entity;
+
+import java.util.Set;
+
+@FunctionalInterface
+public interface AutoFlushHandler {
+    AutoFlushHandler NONE = querySpaces -> {
+    };
+
+    void autoFlushIfRequired(Set<String> querySpaces);
+}
@@ -1,6 +1,7 @@
 package persistence.entity;
 
 import jdbc.JdbcTemplate;
+import persistence.sql.JavaType;
 import persistence.sql.definition.TableAssociationDefinition;
 import persistence.sql.dml.query.UpdateQueryBuilder;
 
@@ -8,6 +9,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class CollectionPersister {
     private static final UpdateQueryBuilder updateQueryBuilder = new UpdateQueryBuilder();
@@ -46,11 +48,15 @@ public class CollectionPersister {
                 elementPersister.getTableName(),
                 elementPersister.getIdName(),
                 elementPersister.getEntityId(childEntity),
-                Map.of(joinColumnName, joinColumnValue)
+                Map.of(joinColumnName, JavaType.literal(joinColumnValue))
         );
         jdbcTemplate.execute(sql);
     }
 
+    public Set<String> getQuerySpaces() {
+        return Set.of(parentPersister.getTableName(), elementPersister.getTableName());
+    }
+
     private Object insert(Object entity) {
         return elementPersister.insert(entity);
     }
@@ -1,7 +1,12 @@
 package persistence.entity;
 
+import jdbc.JdbcTemplate;
+
 import java.util.Collection;
 
 public interface EntityLazyLoader {
     Collection<?> loadLazyCollection(Object owner);
+
+    // no auto flush, the caller has flushed already and may be running on another thread with its own connection
+    Collection<?> loadLazyCollection(Object owner, JdbcTemplate jdbcTemplate);
 }
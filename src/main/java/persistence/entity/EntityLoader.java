@@ -1,23 +1,41 @@
 package persistence.entity;
 
 import jdbc.JdbcTemplate;
-import jdbc.RowMapperFactory;
+import jdbc.RowMapper;
 import persistence.meta.Metamodel;
 import persistence.sql.definition.TableDefinition;
 import persistence.sql.dml.query.SelectQueryBuilder;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class EntityLoader {
     private final TableDefinition tableDefinition;
     private final JdbcTemplate jdbcTemplate;
     private final Metamodel metamodel;
+    private final InFlightLoadRegistry inFlightLoads;
 
     public EntityLoader(TableDefinition tableDefinition, JdbcTemplate jdbcTemplate, Metamodel metamodel) {
+        this(tableDefinition, jdbcTemplate, metamodel, new InFlightLoadRegistry());
+    }
+
+    public EntityLoader(TableDefinition tableDefinition,
+                        JdbcTemplate jdbcTemplate,
+                        Metamodel metamodel,
+                        InFlightLoadRegistry inFlightLoads) {
         this.jdbcTemplate = jdbcTemplate;
         this.tableDefinition = tableDefinition;
         this.metamodel = metamodel;
+        this.inFlightLoads = inFlightLoads;
     }
 
     public <T> T loadEntity(Class<T> entityClass, EntityKey entityKey) {
+        return loadEntity(entityClass, entityKey, AutoFlushHandler.NONE);
+    }
+
+    public <T> T loadEntity(Class<T> entityClass, EntityKey entityKey, AutoFlushHandler autoFlushHandler) {
+        autoFlushHandler.autoFlushIfRequired(getQuerySpaces());
+
         final SelectQueryBuilder queryBuilder = new SelectQueryBuilder(entityKey.entityClass(), metamodel);
         tableDefinition.resolveEagerAssociation()
                 .forEach(association ->
@@ -28,9 +46,29 @@ public class EntityLoader {
                 );
 
         final String query = queryBuilder.buildById(entityKey.id());
-        final Object queried = jdbcTemplate.queryForObject(query,
-                RowMapperFactory.getInstance().getRowMapper(entityClass, metamodel, jdbcTemplate));
+        jdbcTemplate.getNPlusOneDetector().onEntityLoad(entityClass, query);
+        final RowMapper<T> rowMapper =
+                metamodel.getRowMapperFactory().getRowMapper(entityClass, metamodel, jdbcTemplate, autoFlushHandler);
+
+        // inside a transaction the session must read through its own connection
+        if (!jdbcTemplate.getAutoCommit()) {
+            return entityClass.cast(jdbcTemplate.queryForObject(query, rowMapper));
+        }
+
+        return entityClass.cast(inFlightLoads.load(
+                entityKey,
+                getQuerySpaces(),
+                sharing -> jdbcTemplate.queryForObject(query, rowMapper, sharing),
+                snapshot -> jdbcTemplate.queryForObject(snapshot, rowMapper)
+        ));
+    }
 
-        return entityClass.cast(queried);
+    public Set<String> getQuerySpaces() {
+        final Set<String> querySpaces = new HashSet<>();
+        querySpaces.add(tableDefinition.getTableName());
+        tableDefinition.resolveEagerAssociation().forEach(association ->
+                querySpaces.add(metamodel.findEntityPersister(association.getAssociatedEntityClass()).getTableName())
+        );
+        return querySpaces;
     }
 }
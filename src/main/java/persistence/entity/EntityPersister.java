@@ -1,6 +1,7 @@
 package persistence.entity;
 
 import jdbc.JdbcTemplate;
+import persistence.sql.JavaType;
 import persistence.sql.definition.ColumnDefinitionAware;
 import persistence.sql.definition.TableAssociationDefinition;
 import persistence.sql.definition.TableDefinition;
@@ -47,7 +48,23 @@ public class EntityPersister {
     }
 
     public Object insert(Object entity) {
-        return insertExecutor.insertAndBindKey(entity);
+        assignId(entity);
+        final Object inserted = insertExecutor.insert(entity);
+        jdbcTemplate.getStatistics().insertEntity();
+        return inserted;
+    }
+
+    public void insertAll(List<Object> entities) {
+        entities.forEach(this::assignId);
+        insertExecutor.insertAll(entities);
+        entities.forEach(entity -> jdbcTemplate.getStatistics().insertEntity());
+    }
+
+    // cascaded children reach insert without going through persist, so they are covered here as well
+    public void assignId(Object entity) {
+        if (isClientGeneratedIdentifier() && !hasId(entity)) {
+            tableDefinition.setValue(entity, getIdName(), UuidV7Generator.generate());
+        }
     }
 
     public List<TableAssociationDefinition> getCollectionAssociations() {
@@ -59,6 +76,7 @@ public class EntityPersister {
     public void update(Object entity) {
         final String query = getUpdateQuery(entity);
         jdbcTemplate.execute(query);
+        jdbcTemplate.getStatistics().updateEntity();
     }
 
     public String getUpdateQuery(Object entity) {
@@ -87,6 +105,7 @@ public class EntityPersister {
     public void delete(Object entity) {
         String query = getDeleteQuery(entity);
         jdbcTemplate.execute(query);
+        jdbcTemplate.getStatistics().deleteEntity();
     }
 
     public String getDeleteQuery(Object entity) {
@@ -101,6 +120,10 @@ public class EntityPersister {
         return tableDefinition.getJoinColumnName(entityClass);
     }
 
+    public TableDefinition getTableDefinition() {
+        return tableDefinition;
+    }
+
     public Class<?> getEntityClass() {
         return tableDefinition.getEntityClass();
     }
@@ -138,10 +161,7 @@ public class EntityPersister {
     }
 
     private String getQuoted(Object value) {
-        if (value instanceof String) {
-            return "'" + value + "'";
-        }
-        return value.toString();
+        return JavaType.literal(value);
     }
 
     public List<TableAssociationDefinition> getAssociations() {
@@ -151,4 +171,8 @@ public class EntityPersister {
     public boolean isIdentityIdentifier() {
         return tableDefinition.isIdentityIdentifier();
     }
+
+    public boolean isClientGeneratedIdentifier() {
+        return tableDefinition.isClientGeneratedIdentifier();
+    }
 }
@@ -0,0 +1,117 @@
+package persistence.entity;
+
+import jdbc.ResultSetSharing;
+import jdbc.ResultSetSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import persistence.cache.UpdateTimestampsCache;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+public class InFlightLoadRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(InFlightLoadRegistry.class);
+
+    private final UpdateTimestampsCache updateTimestamps;
+    private final ConcurrentMap<EntityKey, InFlightLoad> loads = new ConcurrentHashMap<>();
+
+    public InFlightLoadRegistry() {
+        this(new UpdateTimestampsCache());
+    }
+
+    public InFlightLoadRegistry(UpdateTimestampsCache updateTimestamps) {
+        this.updateTimestamps = updateTimestamps;
+    }
+
+    // the first caller for a key runs the fetch, callers arriving while it is in flight get a copy of its rows.
+    // the leader copies nothing unless someone joined before its query returned
+    public <T> T load(EntityKey entityKey,
+                      Set<String> spaces,
+                      Function<ResultSetSharing, T> leader,
+                      Function<ResultSetSnapshot, T> follower) {
+        while (true) {
+            final InFlightLoad inFlight = loads.get(entityKey);
+            if (inFlight != null && inFlight.join()) {
+                logger.debug("Joining in-flight load of {}", entityKey);
+                return follower.apply(join(inFlight.result));
+            }
+
+            // a fetch that started before a write to these tables may return the old row, it is replaced instead
+            final InFlightLoad load = new InFlightLoad(entityKey, spaces, updateTimestamps.next());
+            final boolean registered = inFlight == null
+                    ? loads.putIfAbsent(entityKey, load) == null
+                    : loads.replace(entityKey, inFlight, load);
+            if (registered) {
+                return lead(load, leader);
+            }
+        }
+    }
+
+    private <T> T lead(InFlightLoad load, Function<ResultSetSharing, T> leader) {
+        try {
+            return leader.apply(load);
+        } catch (RuntimeException e) {
+            load.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            load.seal();
+            load.result.completeExceptionally(new IllegalStateException("In-flight load ended without its rows"));
+        }
+    }
+
+    private static ResultSetSnapshot join(CompletableFuture<ResultSetSnapshot> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int size() {
+        return loads.size();
+    }
+
+    private class InFlightLoad implements ResultSetSharing {
+        private final EntityKey entityKey;
+        private final Set<String> spaces;
+        private final long timestamp;
+        private final CompletableFuture<ResultSetSnapshot> result = new CompletableFuture<>();
+        private int followers;
+        private boolean sealed;
+
+        private InFlightLoad(EntityKey entityKey, Set<String> spaces, long timestamp) {
+            this.entityKey = entityKey;
+            this.spaces = spaces;
+            this.timestamp = timestamp;
+        }
+
+        private synchronized boolean join() {
+            if (sealed || !updateTimestamps.isUpToDate(spaces, timestamp)) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean seal() {
+            if (!sealed) {
+                sealed = true;
+                loads.remove(entityKey, this);
+            }
+            return followers > 0;
+        }
+
+        @Override
+        public void share(ResultSetSnapshot snapshot) {
+            result.complete(snapshot);
+        }
+    }
+}
@@ -1,19 +1,14 @@
 package persistence.entity;
 
-import common.ReflectionFieldAccessUtils;
 import jdbc.JdbcTemplate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import persistence.sql.definition.TableDefinition;
 import persistence.sql.dml.query.InsertQueryBuilder;
 
-import java.io.Serializable;
-import java.lang.reflect.Field;
+import java.util.List;
 
 public class InsertExecutor {
 
     private static final InsertQueryBuilder insertQueryBuilder = new InsertQueryBuilder();
-    private final Logger logger = LoggerFactory.getLogger(getClass());
     private final JdbcTemplate jdbcTemplate;
     private final TableDefinition tableDefinition;
 
@@ -22,22 +17,33 @@ public class InsertExecutor {
         this.tableDefinition = tableDefinition;
     }
 
+    public Object insert(Object entity) {
+        if (tableDefinition.isClientGeneratedIdentifier()) {
+            jdbcTemplate.execute(insertQueryBuilder.build(entity, tableDefinition));
+            return entity;
+        }
+
+        return insertAndBindKey(entity);
+    }
+
     public Object insertAndBindKey(Object entity) {
         final String query = insertQueryBuilder.build(entity, tableDefinition);
-        final Serializable id = jdbcTemplate.insertAndReturnKey(query);
+        final long id = jdbcTemplate.insertAndReturnKey(query);
 
-        bindId(id, entity);
+        tableDefinition.bindGeneratedId(entity, id);
         return entity;
     }
 
-    private void bindId(Serializable id, Object entity) {
-        try {
-            final Field idField = tableDefinition.getEntityClass()
-                    .getDeclaredField(tableDefinition.getIdFieldName());
-
-            ReflectionFieldAccessUtils.accessAndSet(entity, idField, id);
-        } catch (ReflectiveOperationException e) {
-            logger.error("Failed to copy row to {}", entity.getClass().getName(), e);
+    // nothing has to be read back when the ids are already assigned, so the rows share one round trip
+    public void insertAll(List<Object> entities) {
+        if (!tableDefinition.isClientGeneratedIdentifier()) {
+            entities.forEach(this::insertAndBindKey);
+            return;
         }
+
+        final List<String> queries = entities.stream()
+                .map(entity -> insertQueryBuilder.build(entity, tableDefinition))
+                .toList();
+        jdbcTemplate.executeBatch(queries);
     }
 }
@@ -0,0 +1,25 @@
+package persistence.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 version 7, unix millis in the high 48 bits so new keys land at the right edge of the primary key index
+public class UuidV7Generator {
+    private static final SecureRandom random = new SecureRandom();
+
+    // millis << 12 | counter, ids generated within one millisecond stay ordered and a full counter spills into the next one
+    private static final AtomicLong state = new AtomicLong();
+
+    private UuidV7Generator() {
+    }
+
+    public static UUID generate() {
+        final long now = System.currentTimeMillis() << 12;
+        final long next = state.updateAndGet(last -> Math.max(now, last + 1));
+
+        final long mostSigBits = (next >>> 12) << 16 | 0x7000L | (next & 0xFFFL);
+        final long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -9,5 +9,11 @@ public interface EventListenerGroup<T> {
 
     Collection<T> getListeners();
 
+    boolean isEmpty();
+
+    void appendListener(T listener);
+
+    void prependListener(T listener);
+
     <U> void fireEventOnEachListener(final U event, final BiConsumer<T, U> actionOnEvent);
 }
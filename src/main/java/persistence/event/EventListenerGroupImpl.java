@@ -1,17 +1,19 @@
 package persistence.event;
 
+import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiConsumer;
 
+// listeners are replaced copy-on-write, sessions firing events only ever read the current array
 public class EventListenerGroupImpl<T> implements EventListenerGroup<T> {
 
     private final EventType<T> eventType;
-    private final List<T> listeners;
+    private volatile T[] listeners;
 
     public EventListenerGroupImpl(EventType<T> eventType, List<T> listeners) {
         this.eventType = eventType;
-        this.listeners = listeners;
+        this.listeners = listeners.toArray(newArray(0));
     }
 
     @Override
@@ -21,12 +23,60 @@ public class EventListenerGroupImpl<T> implements EventListenerGroup<T> {
 
     @Override
     public Collection<T> getListeners() {
-        return listeners;
+        return List.of(listeners);
     }
 
+    @Override
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    @Override
+    public synchronized void appendListener(T listener) {
+        if (contains(listener)) {
+            return;
+        }
+
+        final T[] current = listeners;
+        final T[] appended = newArray(current.length + 1);
+        System.arraycopy(current, 0, appended, 0, current.length);
+        appended[current.length] = listener;
+        listeners = appended;
+    }
+
+    @Override
+    public synchronized void prependListener(T listener) {
+        if (contains(listener)) {
+            return;
+        }
+
+        final T[] current = listeners;
+        final T[] prepended = newArray(current.length + 1);
+        prepended[0] = listener;
+        System.arraycopy(current, 0, prepended, 1, current.length);
+        listeners = prepended;
+    }
+
+    // callers pass non-capturing method references, so firing an event allocates nothing here
     @Override
     public <U> void fireEventOnEachListener(U event, BiConsumer<T, U> actionOnEvent) {
-        listeners.forEach(listener -> actionOnEvent.accept(listener, event));
+        final T[] listeners = this.listeners;
+        for (int i = 0; i < listeners.length; i++) {
+            actionOnEvent.accept(listeners[i], event);
+        }
     }
 
+    private boolean contains(T listener) {
+        for (T registered : listeners) {
+            if (registered == listener) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] newArray(int length) {
+        return (T[]) Array.newInstance(eventType.getListenerClass(), length);
+    }
 }
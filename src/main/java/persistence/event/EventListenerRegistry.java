@@ -0,0 +1,54 @@
+package persistence.event;
+
+import persistence.event.delete.DefaultDeleteEventListener;
+import persistence.event.flush.DefaultAutoFlushEventListener;
+import persistence.event.flush.DefaultFlushEventListener;
+import persistence.event.load.DefaultLoadEventListener;
+import persistence.event.merge.DefaultMergeEventListener;
+import persistence.event.persist.CollectionPersistEventListener;
+import persistence.event.persist.DefaultPersistEventListener;
+
+import java.util.List;
+
+// one per session factory, the default listeners are stateless and shared by every session
+public class EventListenerRegistry {
+    private final EventListenerGroup<?>[] groups = new EventListenerGroup<?>[EventType.size()];
+
+    public EventListenerRegistry() {
+        register(EventType.PERSIST, List.of(
+                new DefaultPersistEventListener(),
+                new CollectionPersistEventListener()
+        ));
+        register(EventType.LOAD, List.of(new DefaultLoadEventListener()));
+        register(EventType.MERGE, List.of(new DefaultMergeEventListener()));
+        register(EventType.DELETE, List.of(new DefaultDeleteEventListener()));
+        register(EventType.FLUSH, List.of(new DefaultFlushEventListener()));
+        register(EventType.AUTO_FLUSH, List.of(new DefaultAutoFlushEventListener()));
+    }
+
+    private <T> void register(EventType<T> eventType, List<T> listeners) {
+        groups[eventType.ordinal()] = new EventListenerGroupImpl<>(eventType, listeners);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> EventListenerGroup<T> getEventListenerGroup(EventType<T> eventType) {
+        return (EventListenerGroup<T>) groups[eventType.ordinal()];
+    }
+
+    @SafeVarargs
+    public final <T> void appendListeners(EventType<T> eventType, T... listeners) {
+        final EventListenerGroup<T> group = getEventListenerGroup(eventType);
+        for (T listener : listeners) {
+            group.appendListener(listener);
+        }
+    }
+
+    // prepended listeners run before the defaults, in the order given
+    @SafeVarargs
+    public final <T> void prependListeners(EventType<T> eventType, T... listeners) {
+        final EventListenerGroup<T> group = getEventListenerGroup(eventType);
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            group.prependListener(listeners[i]);
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package persistence.event;
 
+import jdbc.StatementInspector;
 import persistence.action.ActionQueue;
 import persistence.entity.CollectionPersister;
 import persistence.entity.EntityLoader;
 import persistence.entity.EntityPersister;
 import persistence.entity.PersistenceContext;
 import persistence.session.EntityManager;
+import persistence.stat.NPlusOneDetector;
+import persistence.stat.StatisticsImpl;
 import persistence.sql.definition.TableAssociationDefinition;
 
+import java.util.Set;
+
 public interface EventSource extends EntityManager {
 
     ActionQueue getActionQueue();
@@ -19,4 +24,12 @@ public interface EventSource extends EntityManager {
     CollectionPersister findCollectionPersister(TableAssociationDefinition association);
 
     EntityLoader findEntityLoader(Class<?> clazz);
+
+    boolean autoFlushIfRequired(Set<String> querySpaces);
+
+    StatisticsImpl getStatistics();
+
+    NPlusOneDetector getNPlusOneDetector();
+
+    void addStatementInspector(StatementInspector statementInspector);
 }
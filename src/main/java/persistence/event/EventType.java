@@ -1,12 +1,14 @@
 package persistence.event;
 
 import persistence.event.delete.DeleteEventListener;
+import persistence.event.flush.AutoFlushEventListener;
 import persistence.event.flush.FlushEventListener;
 import persistence.event.load.LoadEventListener;
 import persistence.event.merge.MergeEventListener;
 import persistence.event.persist.PersistEventListener;
 
 public final class EventType<T> {
+    private static int count;
 
     public static final EventType<PersistEventListener> PERSIST =
             create("persist", PersistEventListener.class);
@@ -18,16 +20,37 @@ public final class EventType<T> {
             create("delete", DeleteEventListener.class);
     public static final EventType<FlushEventListener> FLUSH =
             create("flush", FlushEventListener.class);
+    public static final EventType<AutoFlushEventListener> AUTO_FLUSH =
+            create("auto-flush", AutoFlushEventListener.class);
 
     private final String eventName;
     private final Class<T> listener;
+    private final int ordinal;
 
-    private EventType(String eventName, Class<T> listener) {
+    private EventType(String eventName, Class<T> listener, int ordinal) {
         this.eventName = eventName;
         this.listener = listener;
+        this.ordinal = ordinal;
     }
 
     private static <T> EventType<T> create(String eventName, Class<T> listenerRole) {
-        return new EventType<>(eventName, listenerRole);
+        return new EventType<>(eventName, listenerRole, count++);
+    }
+
+    public static int size() {
+        return count;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public Class<T> getListenerClass() {
+        return listener;
+    }
+
+    // position of the type's listener group in EventListenerRegistry
+    public int ordinal() {
+        return ordinal;
     }
 }
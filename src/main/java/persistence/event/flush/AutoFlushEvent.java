@@ -0,0 +1,29 @@
+package persistence.event.flush;
+
+import persistence.event.AbstractEvent;
+import persistence.event.EventSource;
+
+import java.util.Set;
+
+public class AutoFlushEvent extends AbstractEvent {
+
+    private final Set<String> querySpaces;
+    private boolean flushRequired;
+
+    public AutoFlushEvent(EventSource source, Set<String> querySpaces) {
+        super(source);
+        this.querySpaces = querySpaces;
+    }
+
+    public Set<String> getQuerySpaces() {
+        return querySpaces;
+    }
+
+    public boolean isFlushRequired() {
+        return flushRequired;
+    }
+
+    public void setFlushRequired(boolean flushRequired) {
+        this.flushRequired = flushRequired;
+    }
+}
@@ -0,0 +1,6 @@
+package persistence.event.flush;
+
+public interface AutoFlushEventListener {
+
+    void onAutoFlush(AutoFlushEvent event);
+}
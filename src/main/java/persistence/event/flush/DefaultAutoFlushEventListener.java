@@ -0,0 +1,18 @@
+package persistence.event.flush;
+
+import persistence.action.ActionQueue;
+
+public class DefaultAutoFlushEventListener implements AutoFlushEventListener {
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        final ActionQueue actionQueue = event.getSession().getActionQueue();
+        if (!actionQueue.areTablesToBeUpdated(event.getQuerySpaces())) {
+            return;
+        }
+
+        event.setFlushRequired(true);
+        actionQueue.executeActions(event.getQuerySpaces());
+        event.getSession().getStatistics().flush();
+    }
+}
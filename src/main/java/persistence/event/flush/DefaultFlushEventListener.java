@@ -1,9 +1,28 @@
 package persistence.event.flush;
 
+import persistence.action.ActionQueue;
+import persistence.jfr.FlushExecutionEvent;
+
 public class DefaultFlushEventListener implements FlushEventListener {
 
     @Override
     public void onFlush(FlushEvent event) {
-        event.getSession().getActionQueue().executeAll();
+        final ActionQueue actionQueue = event.getSession().getActionQueue();
+        final FlushExecutionEvent flushEvent = new FlushExecutionEvent();
+        flushEvent.begin();
+        // the flush drains the queues, so their sizes are read up front whenever the event is being recorded
+        if (flushEvent.isEnabled()) {
+            flushEvent.insertions = actionQueue.numberOfInsertions();
+            flushEvent.collectionInsertions = actionQueue.numberOfCollectionInsertions();
+            flushEvent.updates = actionQueue.numberOfUpdates();
+            flushEvent.deletions = actionQueue.numberOfDeletions();
+        }
+
+        actionQueue.executeAll();
+
+        if (flushEvent.shouldCommit()) {
+            flushEvent.commit();
+        }
+        event.getSession().getStatistics().flush();
     }
 }
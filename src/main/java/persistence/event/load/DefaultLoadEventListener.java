@@ -5,6 +5,7 @@ import persistence.entity.EntityKey;
 import persistence.entity.EntityLoader;
 import persistence.entity.Status;
 import persistence.event.EventSource;
+import persistence.stat.StatisticsImpl;
 
 import java.io.Serializable;
 
@@ -18,7 +19,14 @@ public class DefaultLoadEventListener implements LoadEventListener {
         final EntityKey entityKey = new EntityKey(event.getIdentifier(), entityClass);
         final EntityEntry entry = event.getEntityEntry();
 
-        final T entity = loader.loadEntity(entityClass, entityKey);
+        final StatisticsImpl statistics = source.getStatistics();
+        final long start = statistics.isStatisticsEnabled() ? System.nanoTime() : 0L;
+
+        final T entity = loader.loadEntity(entityClass, entityKey, source::autoFlushIfRequired);
+
+        if (start != 0L) {
+            statistics.loadEntity(entityClass.getName(), System.nanoTime() - start);
+        }
 
         entry.updateStatus(Status.MANAGED);
         source.getPersistenceContext().addEntity(entityKey, entity);
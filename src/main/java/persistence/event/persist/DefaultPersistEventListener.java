@@ -14,6 +14,7 @@ public class DefaultPersistEventListener implements PersistEventListener {
         final EntityEntry entry = EntityEntry.inSaving();
 
         final EntityPersister persister = source.findEntityPersister(entity.getClass());
+        persister.assignId(entity);
 
         event.getSession().getActionQueue().addAction(
                 new EntityInsertAction(source, entity, persister, entry)
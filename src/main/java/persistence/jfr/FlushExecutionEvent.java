@@ -0,0 +1,27 @@
+package persistence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("persistence.Flush")
+@Label("Flush")
+@Category("Persistence")
+@Description("Execution of the queued actions of a session")
+@StackTrace(false)
+public class FlushExecutionEvent extends jdk.jfr.Event {
+
+    @Label("Insertions")
+    public int insertions;
+
+    @Label("Collection Insertions")
+    public int collectionInsertions;
+
+    @Label("Updates")
+    public int updates;
+
+    @Label("Deletions")
+    public int deletions;
+}
@@ -0,0 +1,21 @@
+package persistence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("persistence.Hydration")
+@Label("Hydration")
+@Category("Persistence")
+@Description("Mapping of a result set to entity instances")
+@StackTrace(false)
+public class HydrationEvent extends jdk.jfr.Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Rows")
+    public long rows;
+}
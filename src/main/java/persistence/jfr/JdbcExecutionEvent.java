@@ -0,0 +1,21 @@
+package persistence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("persistence.JdbcExecution")
+@Label("JDBC Execution")
+@Category({"Persistence", "JDBC"})
+@Description("Execution of a single SQL statement, excluding row hydration")
+@StackTrace(false)
+public class JdbcExecutionEvent extends jdk.jfr.Event {
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Rows")
+    public long rows;
+}
@@ -0,0 +1,24 @@
+package persistence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("persistence.LazyLoad")
+@Label("Lazy Collection Load")
+@Category("Persistence")
+@Description("Initialization of a lazy collection, including its query")
+@StackTrace(false)
+public class LazyLoadEvent extends jdk.jfr.Event {
+
+    @Label("Owner Type")
+    public String ownerType;
+
+    @Label("Element Type")
+    public String elementType;
+
+    @Label("Collection Size")
+    public int collectionSize;
+}
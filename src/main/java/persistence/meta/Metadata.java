@@ -2,6 +2,7 @@ package persistence.meta;
 
 import database.DatabaseServer;
 import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaAction;
 import persistence.sql.Dialect;
 import persistence.sql.definition.ColumnDefinitionAware;
 import persistence.sql.definition.TableDefinition;
@@ -15,6 +16,10 @@ public interface Metadata {
 
     Dialect getDialect();
 
+    SchemaAction getSchemaAction();
+
+    boolean isForeignKeyConstraintEnabled();
+
     List<Class<?>> getEntityClasses();
 
     List<TableDefinition> findTableDefinitions();
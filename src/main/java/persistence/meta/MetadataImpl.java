@@ -2,43 +2,71 @@ package persistence.meta;
 
 import bootstrap.ClassFileProcessor;
 import bootstrap.EntityComponentScanner;
+import bootstrap.EntityIndex;
 import bootstrap.FileSystemExplorer;
 import database.DatabaseServer;
 import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaAction;
 import persistence.session.SessionFactoryImpl;
 import persistence.session.ThreadLocalCurrentSessionContext;
 import persistence.sql.Dialect;
 import persistence.sql.H2Dialect;
 import persistence.sql.definition.ColumnDefinitionAware;
+import persistence.sql.definition.EntityDescriptor;
 import persistence.sql.definition.TableAssociationDefinition;
 import persistence.sql.definition.TableDefinition;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MetadataImpl implements Metadata {
 
+    private static final String SNAPSHOT_FILE_PROPERTY = "metadata.snapshot.file";
+    private static final String SCHEMA_ACTION_PROPERTY = "schema.action";
+    private static final String FOREIGN_KEYS_PROPERTY = "schema.foreign-keys";
+
     private final DatabaseServer database;
     private final List<Class<?>> entityClasses;
-    private final Map<Class<?>, TableDefinition> tableDefinitions;
-    private final List<TableAssociationDefinition> associations;
+    private final MetadataSnapshot snapshot;
+    private final SchemaAction schemaAction;
+    private final boolean foreignKeyConstraintEnabled;
+    private final Map<Class<?>, TableDefinition> tableDefinitions = new ConcurrentHashMap<>();
+    private volatile List<TableAssociationDefinition> associations;
 
     public MetadataImpl(DatabaseServer database) {
-        final Properties properties = new Properties();
-        final String packageName = loadPackageName(properties);
+        this(database, loadProperties());
+    }
+
+    public MetadataImpl(DatabaseServer database, Path snapshotFile) {
+        this(database, loadProperties(), MetadataSnapshot.load(snapshotFile));
+    }
+
+    private MetadataImpl(DatabaseServer database, Properties properties) {
+        this(database, properties, loadSnapshot(properties));
+    }
 
-        this.entityClasses = scanEntityClasses(packageName);
+    private MetadataImpl(DatabaseServer database, Properties properties, MetadataSnapshot snapshot) {
+        this.entityClasses = List.copyOf(scanEntityClasses(properties.getProperty("entity.package", "domain")));
         this.database = database;
-        this.tableDefinitions = collectTableDefinitions(entityClasses);
-        this.associations = collectAssociations(entityClasses);
+        this.snapshot = snapshot;
+        this.schemaAction = SchemaAction.from(properties.getProperty(SCHEMA_ACTION_PROPERTY, "create-drop"));
+        this.foreignKeyConstraintEnabled = Boolean.parseBoolean(properties.getProperty(FOREIGN_KEYS_PROPERTY, "false"));
     }
 
+    // the compile-time index avoids touching the classpath, scanning is the fallback without it
     private static List<Class<?>> scanEntityClasses(String packageName) {
+        final Optional<List<Class<?>>> indexed = new EntityIndex().load(packageName);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+
         List<Class<?>> entityClasses;
         try {
             entityClasses = new EntityComponentScanner(
@@ -51,34 +79,52 @@ public class MetadataImpl implements Metadata {
         return entityClasses;
     }
 
-    private String loadPackageName(Properties properties) {
-        try (InputStream input = getClass().getClassLoader().getResourceAsStream("application.properties")) {
+    private static Properties loadProperties() {
+        final Properties properties = new Properties();
+        try (InputStream input = MetadataImpl.class.getClassLoader().getResourceAsStream("application.properties")) {
             properties.load(input);
         } catch (IOException e) {
             throw new RuntimeException("Could not load properties file", e);
         }
 
-        return properties.getProperty("entity.package", "domain");
+        return properties;
     }
 
-    private Map<Class<?>, TableDefinition> collectTableDefinitions(List<Class<?>> entityClasses) {
-        return entityClasses.stream().collect(
-                Collectors.toUnmodifiableMap(
-                        clazz -> clazz,
-                        TableDefinition::new
-                )
-        );
+    private static MetadataSnapshot loadSnapshot(Properties properties) {
+        final String snapshotFile = properties.getProperty(SNAPSHOT_FILE_PROPERTY);
+        if (snapshotFile == null || snapshotFile.isBlank()) {
+            return MetadataSnapshot.disabled();
+        }
+        return MetadataSnapshot.load(Path.of(snapshotFile));
     }
 
-    private List<TableAssociationDefinition> collectAssociations(List<Class<?>> entityClasses) {
-        return entityClasses.stream().flatMap(clazz ->
-                        tableDefinitions.get(clazz).getAssociations().stream()
-                )
-                .toList();
+    // generated descriptors need no analysis, the snapshot stands in for reflection on the rest
+    private TableDefinition resolveTableDefinition(Class<?> entityClass) {
+        final Optional<EntityDescriptor> descriptor = EntityDescriptor.find(entityClass)
+                .or(() -> snapshot.find(entityClass));
+        if (descriptor.isPresent()) {
+            return new TableDefinition(descriptor.get());
+        }
+
+        final TableDefinition tableDefinition = new TableDefinition(entityClass);
+        snapshot.put(tableDefinition);
+        return tableDefinition;
+    }
+
+    private List<TableAssociationDefinition> getAssociations() {
+        if (associations == null) {
+            associations = findTableDefinitions().stream()
+                    .flatMap(tableDefinition -> tableDefinition.getAssociations().stream())
+                    .toList();
+        }
+        return associations;
     }
 
+    // every entity is resolved while the factory is built, so the snapshot is written once here and never on lookup
     @Override
     public EntityManagerFactory buildEntityManagerFactory() {
+        findTableDefinitions();
+        snapshot.save(entityClasses);
         try {
             return new SessionFactoryImpl(
                     new ThreadLocalCurrentSessionContext(),
@@ -99,6 +145,16 @@ public class MetadataImpl implements Metadata {
         return new H2Dialect();
     }
 
+    @Override
+    public SchemaAction getSchemaAction() {
+        return schemaAction;
+    }
+
+    @Override
+    public boolean isForeignKeyConstraintEnabled() {
+        return foreignKeyConstraintEnabled;
+    }
+
     @Override
     public List<Class<?>> getEntityClasses() {
         return entityClasses;
@@ -106,17 +162,23 @@ public class MetadataImpl implements Metadata {
 
     @Override
     public List<TableDefinition> findTableDefinitions() {
-        return tableDefinitions.values().stream().toList();
+        return entityClasses.stream()
+                .map(this::findTableDefinition)
+                .toList();
     }
 
     @Override
     public TableDefinition findTableDefinition(Class<?> entityClass) {
-        return tableDefinitions.get(entityClass);
+        final TableDefinition tableDefinition = tableDefinitions.get(entityClass);
+        if (tableDefinition != null || !entityClasses.contains(entityClass)) {
+            return tableDefinition;
+        }
+        return tableDefinitions.computeIfAbsent(entityClass, this::resolveTableDefinition);
     }
 
     @Override
     public List<? extends ColumnDefinitionAware> getForeignKeys(Class<?> entityClass) {
-        for (TableAssociationDefinition association : associations) {
+        for (TableAssociationDefinition association : getAssociations()) {
             if (association.getAssociatedEntityClass().equals(entityClass)) {
                 final TableDefinition tableDefinition = findTableDefinition(association.getParentEntityClass());
                 String joinColumnName = association.getJoinColumnName();
@@ -0,0 +1,398 @@
+package persistence.meta;
+
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GenerationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import persistence.sql.definition.ColumnDefinitionAware;
+import persistence.sql.definition.EntityDescriptor;
+import persistence.sql.definition.IndexDefinition;
+import persistence.sql.definition.ReflectionEntityAccessor;
+import persistence.sql.definition.TableAssociationDefinition;
+import persistence.sql.definition.TableDefinition;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// resolved table models of reflectively analysed entities, keyed by a hash of each entity's class file
+public class MetadataSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(MetadataSnapshot.class);
+    private static final int MAGIC = 0x4A504D53;
+    private static final short VERSION = 3;
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+    private volatile boolean dirty;
+
+    private MetadataSnapshot(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    public static MetadataSnapshot disabled() {
+        return new MetadataSnapshot(null, new ConcurrentHashMap<>());
+    }
+
+    // a missing or unreadable file only costs one cold start
+    public static MetadataSnapshot load(Path file) {
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                logger.warn("Ignoring metadata snapshot {} written by another version", file);
+                return new MetadataSnapshot(file, entries);
+            }
+            final int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                final Entry entry = Entry.read(input);
+                entries.put(entry.className(), entry);
+            }
+        } catch (NoSuchFileException e) {
+            return new MetadataSnapshot(file, entries);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring unreadable metadata snapshot {}", file, e);
+            entries.clear();
+        }
+        return new MetadataSnapshot(file, entries);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // revalidated on lookup, an entry whose class file changed is dropped and analysed again
+    public Optional<EntityDescriptor> find(Class<?> entityClass) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        final Entry entry = entries.get(entityClass.getName());
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        final byte[] fingerprint = fingerprint(entityClass);
+        if (fingerprint == null || !Arrays.equals(entry.fingerprint(), fingerprint)) {
+            entries.remove(entityClass.getName());
+            dirty = true;
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new SnapshotEntityDescriptor(entityClass, entry));
+        } catch (ClassNotFoundException e) {
+            entries.remove(entityClass.getName());
+            dirty = true;
+            return Optional.empty();
+        }
+    }
+
+    public void put(TableDefinition tableDefinition) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final Class<?> entityClass = tableDefinition.getEntityClass();
+        final byte[] fingerprint = fingerprint(entityClass);
+        if (fingerprint == null) {
+            return;
+        }
+        entries.put(entityClass.getName(), Entry.from(tableDefinition, fingerprint));
+        dirty = true;
+    }
+
+    // entities that left the model are dropped, the file is replaced atomically
+    public synchronized void save(Collection<Class<?>> entityClasses) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final List<String> classNames = entityClasses.stream().map(Class::getName).toList();
+        if (entries.keySet().retainAll(classNames)) {
+            dirty = true;
+        }
+        if (!dirty) {
+            return;
+        }
+
+        try {
+            final Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeShort(VERSION);
+                final List<Entry> snapshot = new ArrayList<>(entries.values());
+                output.writeInt(snapshot.size());
+                for (Entry entry : snapshot) {
+                    entry.write(output);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            logger.warn("Could not write metadata snapshot {}", file, e);
+        }
+    }
+
+    static byte[] fingerprint(Class<?> entityClass) {
+        final ClassLoader classLoader = entityClass.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+
+        final String resource = entityClass.getName().replace('.', '/') + ".class";
+        try (InputStream input = classLoader.getResourceAsStream(resource)) {
+            if (input == null) {
+                return null;
+            }
+            return MessageDigest.getInstance("SHA-256").digest(input.readAllBytes());
+        } catch (IOException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record AssociationEntry(String fieldName,
+                                    String associatedClassName,
+                                    String joinColumnName,
+                                    FetchType fetchType) {
+    }
+
+    private record Entry(String className,
+                         byte[] fingerprint,
+                         String tableName,
+                         List<EntityDescriptor.Column> columns,
+                         List<AssociationEntry> associations,
+                         List<EntityDescriptor.Index> indexes) {
+
+        static Entry from(TableDefinition tableDefinition, byte[] fingerprint) {
+            final GenerationType generationType = tableDefinition.getTableId().generationType();
+            final List<EntityDescriptor.Column> columns = new ArrayList<>();
+            for (ColumnDefinitionAware column : tableDefinition.getColumns()) {
+                columns.add(new EntityDescriptor.Column(
+                        column.getEntityFieldName(),
+                        column.getDatabaseColumnName(),
+                        column.getJavaTypeName(),
+                        column.isNullable(),
+                        column.getLength(),
+                        column.getPrecision(),
+                        column.getScale(),
+                        column.isPrimaryKey(),
+                        column.isPrimaryKey() ? generationType : GenerationType.AUTO
+                ));
+            }
+
+            final List<AssociationEntry> associations = new ArrayList<>();
+            for (TableAssociationDefinition association : tableDefinition.getAssociations()) {
+                associations.add(new AssociationEntry(
+                        association.getFieldName(),
+                        association.getAssociatedEntityClass().getName(),
+                        association.getJoinColumnName(),
+                        association.getFetchType()
+                ));
+            }
+
+            final List<EntityDescriptor.Index> indexes = new ArrayList<>();
+            for (IndexDefinition index : tableDefinition.getIndexes()) {
+                indexes.add(new EntityDescriptor.Index(index.getName(), index.getColumnNames(), index.isUnique()));
+            }
+
+            return new Entry(tableDefinition.getEntityClass().getName(), fingerprint, tableDefinition.getTableName(),
+                    List.copyOf(columns), List.copyOf(associations), List.copyOf(indexes));
+        }
+
+        static Entry read(DataInputStream input) throws IOException {
+            final String className = input.readUTF();
+            final byte[] fingerprint = new byte[input.readUnsignedByte()];
+            input.readFully(fingerprint);
+            final String tableName = input.readUTF();
+
+            final int columnCount = input.readUnsignedShort();
+            final List<EntityDescriptor.Column> columns = new ArrayList<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                columns.add(new EntityDescriptor.Column(
+                        input.readUTF(),
+                        input.readUTF(),
+                        input.readUTF(),
+                        input.readBoolean(),
+                        input.readInt(),
+                        input.readInt(),
+                        input.readInt(),
+                        input.readBoolean(),
+                        GenerationType.valueOf(input.readUTF())
+                ));
+            }
+
+            final int associationCount = input.readUnsignedShort();
+            final List<AssociationEntry> associations = new ArrayList<>(associationCount);
+            for (int i = 0; i < associationCount; i++) {
+                associations.add(new AssociationEntry(
+                        input.readUTF(),
+                        input.readUTF(),
+                        input.readUTF(),
+                        FetchType.valueOf(input.readUTF())
+                ));
+            }
+
+            final int indexCount = input.readUnsignedShort();
+            final List<EntityDescriptor.Index> indexes = new ArrayList<>(indexCount);
+            for (int i = 0; i < indexCount; i++) {
+                final String name = input.readUTF();
+                final List<String> columnNames = new ArrayList<>();
+                final int columnNameCount = input.readUnsignedShort();
+                for (int j = 0; j < columnNameCount; j++) {
+                    columnNames.add(input.readUTF());
+                }
+                indexes.add(new EntityDescriptor.Index(name, List.copyOf(columnNames), input.readBoolean()));
+            }
+
+            return new Entry(className, fingerprint, tableName,
+                    List.copyOf(columns), List.copyOf(associations), List.copyOf(indexes));
+        }
+
+        void write(DataOutputStream output) throws IOException {
+            output.writeUTF(className);
+            output.writeByte(fingerprint.length);
+            output.write(fingerprint);
+            output.writeUTF(tableName);
+
+            output.writeShort(columns.size());
+            for (EntityDescriptor.Column column : columns) {
+                output.writeUTF(column.fieldName());
+                output.writeUTF(column.columnName());
+                output.writeUTF(column.javaTypeName());
+                output.writeBoolean(column.nullable());
+                output.writeInt(column.length());
+                output.writeInt(column.precision());
+                output.writeInt(column.scale());
+                output.writeBoolean(column.id());
+                output.writeUTF(column.generationType().name());
+            }
+
+            output.writeShort(associations.size());
+            for (AssociationEntry association : associations) {
+                output.writeUTF(association.fieldName());
+                output.writeUTF(association.associatedClassName());
+                output.writeUTF(association.joinColumnName());
+                output.writeUTF(association.fetchType().name());
+            }
+
+            output.writeShort(indexes.size());
+            for (EntityDescriptor.Index index : indexes) {
+                output.writeUTF(index.name());
+                output.writeShort(index.columnNames().size());
+                for (String columnName : index.columnNames()) {
+                    output.writeUTF(columnName);
+                }
+                output.writeBoolean(index.unique());
+            }
+        }
+    }
+
+    // the model comes from the snapshot, field access still goes through reflection
+    private static class SnapshotEntityDescriptor implements EntityDescriptor {
+        private final Class<?> entityClass;
+        private final Entry entry;
+        private final List<Association> associations;
+        private final ReflectionEntityAccessor accessor;
+
+        SnapshotEntityDescriptor(Class<?> entityClass, Entry entry) throws ClassNotFoundException {
+            this.entityClass = entityClass;
+            this.entry = entry;
+            this.accessor = new ReflectionEntityAccessor(entityClass);
+
+            final List<Association> associations = new ArrayList<>();
+            for (AssociationEntry association : entry.associations()) {
+                associations.add(new Association(
+                        association.fieldName(),
+                        Class.forName(association.associatedClassName(), false, entityClass.getClassLoader()),
+                        association.joinColumnName(),
+                        association.fetchType()
+                ));
+            }
+            this.associations = List.copyOf(associations);
+        }
+
+        @Override
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        @Override
+        public String getTableName() {
+            return entry.tableName();
+        }
+
+        @Override
+        public List<Column> getColumns() {
+            return entry.columns();
+        }
+
+        @Override
+        public List<Association> getAssociations() {
+            return associations;
+        }
+
+        @Override
+        public List<Index> getIndexes() {
+            return entry.indexes();
+        }
+
+        @Override
+        public Object newInstance() {
+            return accessor.newInstance();
+        }
+
+        @Override
+        public Object getValue(Object entity, String fieldName) {
+            return accessor.getValue(entity, fieldName);
+        }
+
+        @Override
+        public void setValue(Object entity, String fieldName, Object value) {
+            accessor.setValue(entity, fieldName, value);
+        }
+
+        @Override
+        public void setLong(Object entity, String fieldName, long value) {
+            accessor.setLong(entity, fieldName, value);
+        }
+
+        @Override
+        public void setInt(Object entity, String fieldName, int value) {
+            accessor.setInt(entity, fieldName, value);
+        }
+
+        @Override
+        public void setBoolean(Object entity, String fieldName, boolean value) {
+            accessor.setBoolean(entity, fieldName, value);
+        }
+
+        @Override
+        public void setDouble(Object entity, String fieldName, double value) {
+            accessor.setDouble(entity, fieldName, value);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package persistence.meta;
 
 import jdbc.JdbcTemplate;
+import jdbc.RowMapperFactory;
+import persistence.cache.CollectionCache;
+import persistence.cache.QueryResultsCache;
 import persistence.entity.CollectionPersister;
 import persistence.entity.EntityLoader;
 import persistence.entity.EntityPersister;
+import persistence.entity.InFlightLoadRegistry;
 import persistence.sql.definition.TableAssociationDefinition;
 
 import java.util.Map;
@@ -13,9 +17,29 @@ public class Metamodel {
     private final Map<Class<?>, EntityPersister> entityPersisters;
     private final Map<Class<?>, EntityLoader> entityLoaders;
     private final Map<TableAssociationDefinition, CollectionPersister> collectionPersisters;
+    private final JdbcTemplate jdbcTemplate;
+    private final InFlightLoadRegistry inFlightLoads;
+    private final QueryResultsCache queryResultsCache;
+    private final CollectionCache collectionCache;
+    private final RowMapperFactory rowMapperFactory;
 
     public Metamodel(Metadata metadata,
                      JdbcTemplate jdbcTemplate) {
+        this(metadata, jdbcTemplate, new InFlightLoadRegistry(), QueryResultsCache.disabled(),
+                CollectionCache.disabled(), new RowMapperFactory());
+    }
+
+    public Metamodel(Metadata metadata,
+                     JdbcTemplate jdbcTemplate,
+                     InFlightLoadRegistry inFlightLoads,
+                     QueryResultsCache queryResultsCache,
+                     CollectionCache collectionCache,
+                     RowMapperFactory rowMapperFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inFlightLoads = inFlightLoads;
+        this.queryResultsCache = queryResultsCache;
+        this.collectionCache = collectionCache;
+        this.rowMapperFactory = rowMapperFactory;
         this.entityPersisters = collectEntityPersisters(metadata, jdbcTemplate);
         this.entityLoaders = collectEntityLoaders(metadata, jdbcTemplate);
         this.collectionPersisters = collectCollectionPersisters(metadata, jdbcTemplate);
@@ -35,7 +59,7 @@ public class Metamodel {
         return metadata.getEntityClasses().stream().collect(
                 Collectors.toUnmodifiableMap(
                         clazz -> clazz,
-                        clazz -> new EntityLoader(metadata.findTableDefinition(clazz), jdbcTemplate, this)
+                        clazz -> new EntityLoader(metadata.findTableDefinition(clazz), jdbcTemplate, this, inFlightLoads)
                 )
         );
     }
@@ -71,4 +95,20 @@ public class Metamodel {
         return collectionPersisters.get(association);
     }
 
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    public QueryResultsCache getQueryResultsCache() {
+        return queryResultsCache;
+    }
+
+    public CollectionCache getCollectionCache() {
+        return collectionCache;
+    }
+
+    public RowMapperFactory getRowMapperFactory() {
+        return rowMapperFactory;
+    }
+
 }
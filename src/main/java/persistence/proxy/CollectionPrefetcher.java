@@ -0,0 +1,84 @@
+package persistence.proxy;
+
+import jdbc.JdbcTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// initializes several lazy collections at once, each query on its own virtual thread and pooled connection
+public class CollectionPrefetcher {
+    private final JdbcTemplate jdbcTemplate;
+    private final List<PersistentList<?>> collections = new ArrayList<>();
+
+    public CollectionPrefetcher(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // eager, already initialized and not yet persisted collections are left alone
+    public boolean add(Object collection) {
+        if (collection == null || !Proxy.isProxyClass(collection.getClass())) {
+            return false;
+        }
+        if (!(Proxy.getInvocationHandler(collection) instanceof PersistentList<?> persistentList)
+                || persistentList.isInitialized()) {
+            return false;
+        }
+        collections.add(persistentList);
+        return true;
+    }
+
+    // a forked connection cannot see what an open transaction wrote, inside one the collections load in turn
+    public void execute() {
+        if (collections.size() < 2 || !jdbcTemplate.canFork() || !jdbcTemplate.getAutoCommit()) {
+            collections.forEach(PersistentList::initialize);
+            return;
+        }
+
+        // closing the executor waits for every load, so no forked connection outlives this call
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<Collection<?>>> futures = new ArrayList<>(collections.size());
+            for (PersistentList<?> collection : collections) {
+                futures.add(executor.submit(() -> load(collection)));
+            }
+
+            // joined in order, the lists are filled on the calling thread
+            try {
+                for (int i = 0; i < collections.size(); i++) {
+                    collections.get(i).initialize(join(futures.get(i)));
+                }
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    private Collection<?> load(PersistentList<?> collection) {
+        final JdbcTemplate forked = jdbcTemplate.fork();
+        try {
+            return collection.load(forked);
+        } finally {
+            forked.close();
+        }
+    }
+
+    private static Collection<?> join(Future<Collection<?>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while prefetching collections", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to prefetch collection", e.getCause());
+        }
+    }
+}
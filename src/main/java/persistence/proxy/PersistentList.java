@@ -1,5 +1,6 @@
 package persistence.proxy;
 
+import jdbc.JdbcTemplate;
 import org.jetbrains.annotations.NotNull;
 import persistence.entity.EntityLazyLoader;
 
@@ -29,6 +30,17 @@ public class PersistentList<T> implements List<T>, LazyInitializer, InvocationHa
         initialized = true;
     }
 
+    // reads the elements without touching this list, so several lists can be loaded from other threads
+    public Collection<?> load(JdbcTemplate jdbcTemplate) {
+        return lazyLoader.loadLazyCollection(owner, jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void initialize(Collection<?> elements) {
+        target = (List<T>) elements;
+        initialized = true;
+    }
+
     @Override
     public Object getImplementation() {
         if (!initialized) {
@@ -1,9 +1,21 @@
 package persistence.session;
 
+import java.util.function.Supplier;
+
 public interface CurrentSessionContext {
     EntityManager currentSession();
 
     void bindSession(EntityManager session);
 
     void closeSession();
+
+    // contexts with a structured lifetime open a binding scope around the work
+    default <T> T callInScope(Supplier<T> work) {
+        return work.get();
+    }
+
+    // whether a session from openSession becomes the current one, scoped contexts bind only inside callInScope
+    default boolean bindsOpenedSession() {
+        return true;
+    }
 }
@@ -1,5 +1,7 @@
 package persistence.session;
 
+import persistence.transaction.EntityTransaction;
+
 public interface EntityManager extends AutoCloseable {
 
     <T> T find(Class<T> clazz, Object id);
@@ -10,7 +12,15 @@ public interface EntityManager extends AutoCloseable {
 
     <T> T merge(T entity);
 
+    void prefetch(Object entity, String... associations);
+
     void flush();
 
     void clear();
+
+    FlushMode getFlushMode();
+
+    void setFlushMode(FlushMode flushMode);
+
+    EntityTransaction getTransaction();
 }
@@ -1,9 +1,13 @@
 package persistence.session;
 
+import persistence.stat.Statistics;
+
 import java.sql.SQLException;
 
 public interface EntityManagerFactory extends AutoCloseable {
     EntityManager openSession() throws SQLException;
 
+    Statistics getStatistics();
+
     void close() throws SQLException;
 }
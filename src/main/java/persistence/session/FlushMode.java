@@ -0,0 +1,8 @@
+package persistence.session;
+
+public enum FlushMode {
+    // flush queued actions touching a query's tables before the query runs
+    AUTO,
+    // flush only on commit or explicit flush()
+    COMMIT
+}
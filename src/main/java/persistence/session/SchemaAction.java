@@ -0,0 +1,31 @@
+package persistence.session;
+
+import java.util.Locale;
+
+public enum SchemaAction {
+    CREATE,
+    CREATE_DROP,
+    VALIDATE,
+    UPDATE,
+    NONE
+    ;
+
+    // accepts the property spelling, e.g. "create-drop"
+    public static SchemaAction from(String value) {
+        final String name = value.strip().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (SchemaAction action : values()) {
+            if (action.name().equals(name)) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Unknown schema action: " + value);
+    }
+
+    public boolean createsOnStart() {
+        return this == CREATE || this == CREATE_DROP;
+    }
+
+    public boolean dropsOnClose() {
+        return this == CREATE_DROP;
+    }
+}
@@ -3,16 +3,148 @@ package persistence.session;
 import common.SqlLogger;
 import jdbc.JdbcTemplate;
 import persistence.meta.Metadata;
+import persistence.sql.Dialect;
+import persistence.sql.ddl.query.AlterTableQueryBuilder;
+import persistence.sql.ddl.query.CreateForeignKeyQueryBuilder;
+import persistence.sql.ddl.query.CreateIndexQueryBuilder;
 import persistence.sql.ddl.query.CreateTableQueryBuilder;
+import persistence.sql.ddl.query.DropForeignKeyQueryBuilder;
 import persistence.sql.ddl.query.DropQueryBuilder;
+import persistence.sql.definition.ColumnDefinitionAware;
+import persistence.sql.definition.IndexDefinition;
+import persistence.sql.definition.TableAssociationDefinition;
+import persistence.sql.definition.TableDefinition;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class SchemaManagementToolCoordinator {
     private SchemaManagementToolCoordinator() {
     }
 
+    public static void processStart(final JdbcTemplate jdbcTemplate,
+                                    final Metadata metadata,
+                                    final SchemaAction action) {
+        switch (action) {
+            case CREATE, CREATE_DROP -> {
+                final List<String> queries = new ArrayList<>(dropTableQueries(metadata));
+                queries.addAll(createTableQueries(metadata));
+                jdbcTemplate.executeBatch(queries);
+            }
+            case VALIDATE -> processValidate(jdbcTemplate, metadata);
+            case UPDATE -> processUpdate(jdbcTemplate, metadata);
+            case NONE -> {
+            }
+        }
+    }
+
     public static void processCreateTable(final JdbcTemplate jdbcTemplate,
                                           final Metadata metadata) {
+        jdbcTemplate.executeBatch(createTableQueries(metadata));
+    }
+
+    public static void processDropTable(final JdbcTemplate jdbcTemplate,
+                                        final Metadata metadata) {
+        jdbcTemplate.executeBatch(dropTableQueries(metadata));
+    }
+
+    public static void processValidate(final JdbcTemplate jdbcTemplate,
+                                       final Metadata metadata) {
+        final Map<String, Map<String, ExistingColumn>> existing = readExistingColumns(jdbcTemplate);
+        final List<String> problems = new ArrayList<>();
+
+        for (TableDefinition table : metadata.findTableDefinitions()) {
+            final Map<String, ExistingColumn> columns = existing.get(normalize(table.getTableName()));
+            if (columns == null) {
+                problems.add("missing table " + table.getTableName());
+                continue;
+            }
+            for (ColumnDefinitionAware column : expectedColumns(table, metadata)) {
+                final String columnName = table.getTableName() + "." + column.getDatabaseColumnName();
+                final ExistingColumn existingColumn = columns.get(normalize(column.getDatabaseColumnName()));
+                if (existingColumn == null) {
+                    problems.add("missing column " + columnName);
+                    continue;
+                }
+                validateColumn(columnName, column, existingColumn, metadata.getDialect(), problems);
+            }
+        }
 
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Schema validation failed: " + String.join(", ", problems));
+        }
+    }
+
+    // a column the database leaves nullable while the entity never writes null is accepted, update adds columns that way
+    private static void validateColumn(String columnName,
+                                       ColumnDefinitionAware column,
+                                       ExistingColumn existing,
+                                       Dialect dialect,
+                                       List<String> problems) {
+        if (!dialect.matchesType(column, existing.typeName())) {
+            problems.add("wrong type for " + columnName + ": expected " + dialect.translateType(column)
+                    + ", found " + existing.typeName());
+            return;
+        }
+        switch (column.getSqlType()) {
+            case VARCHAR, VARBINARY -> {
+                if (existing.size() != column.getLength()) {
+                    problems.add("wrong length for " + columnName + ": expected " + column.getLength()
+                            + ", found " + existing.size());
+                }
+            }
+            case DECIMAL -> {
+                if (existing.size() != column.getPrecision() || existing.decimalDigits() != column.getScale()) {
+                    problems.add("wrong precision for " + columnName + ": expected (" + column.getPrecision()
+                            + ", " + column.getScale() + "), found (" + existing.size()
+                            + ", " + existing.decimalDigits() + ")");
+                }
+            }
+            default -> {
+            }
+        }
+        // primary keys are NOT NULL in the database whatever the id field declares
+        if (column.isNullable() && !column.isPrimaryKey() && existing.nullable() == DatabaseMetaData.columnNoNulls) {
+            problems.add("wrong nullability for " + columnName + ": the column is NOT NULL but the entity allows null");
+        }
+    }
+
+    // only additive changes, columns and tables that disappeared from the model are left alone
+    public static void processUpdate(final JdbcTemplate jdbcTemplate,
+                                     final Metadata metadata) {
+        final Map<String, Map<String, ExistingColumn>> existing = readExistingColumns(jdbcTemplate);
+        final List<String> queries = new ArrayList<>();
+
+        for (TableDefinition table : metadata.findTableDefinitions()) {
+            final Map<String, ExistingColumn> columns = existing.get(normalize(table.getTableName()));
+            if (columns == null) {
+                final String query = new CreateTableQueryBuilder(table.getEntityClass(), metadata).build();
+                SqlLogger.infoCreateTable(query);
+                queries.add(query);
+                continue;
+            }
+            for (ColumnDefinitionAware column : expectedColumns(table, metadata)) {
+                if (!columns.containsKey(normalize(column.getDatabaseColumnName()))) {
+                    final String query = new AlterTableQueryBuilder(
+                            table.getTableName(), column, metadata.getDialect()
+                    ).build();
+                    SqlLogger.infoAlterTable(query);
+                    queries.add(query);
+                }
+            }
+        }
+        queries.addAll(constraintQueries(metadata));
+
+        jdbcTemplate.executeBatch(queries);
+    }
+
+    private static List<String> createTableQueries(final Metadata metadata) {
+        final List<String> queries = new ArrayList<>();
         metadata.findTableDefinitions().forEach(table -> {
             final String query = new CreateTableQueryBuilder(
                     table.getEntityClass(),
@@ -21,19 +153,131 @@ public class SchemaManagementToolCoordinator {
 
             SqlLogger.infoCreateTable(query);
 
-            jdbcTemplate.execute(query);
+            queries.add(query);
         });
+        queries.addAll(constraintQueries(metadata));
+        return queries;
     }
 
-    public static void processDropTable(final JdbcTemplate jdbcTemplate,
-                                        final Metadata metadata) {
+    // indexes and foreign keys reference other tables, so they follow every CREATE TABLE
+    private static List<String> constraintQueries(final Metadata metadata) {
+        final List<String> queries = new ArrayList<>();
+        for (TableDefinition table : metadata.findTableDefinitions()) {
+            for (IndexDefinition index : indexes(table, metadata)) {
+                final String query = new CreateIndexQueryBuilder(table.getTableName(), index).build();
+                SqlLogger.infoCreateIndex(query);
+                queries.add(query);
+            }
+        }
+
+        if (metadata.isForeignKeyConstraintEnabled()) {
+            for (ForeignKey foreignKey : foreignKeys(metadata)) {
+                final String query = new CreateForeignKeyQueryBuilder(
+                        foreignKey.tableName(),
+                        foreignKey.constraintName(),
+                        foreignKey.columnName(),
+                        foreignKey.referencedTableName(),
+                        foreignKey.referencedColumnName()
+                ).build();
+                SqlLogger.infoAlterTable(query);
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    // join columns are filtered on by every lazy collection load, they get an index unless one already leads with them
+    private static List<IndexDefinition> indexes(TableDefinition table, Metadata metadata) {
+        final List<IndexDefinition> indexes = new ArrayList<>(table.getIndexes());
+        for (ColumnDefinitionAware foreignKey : metadata.getForeignKeys(table.getEntityClass())) {
+            final String columnName = foreignKey.getDatabaseColumnName();
+            final boolean covered = indexes.stream().anyMatch(index -> index.startsWith(columnName));
+            if (!covered) {
+                indexes.add(new IndexDefinition(table.getTableName(), "", List.of(columnName), false));
+            }
+        }
+        return indexes;
+    }
 
+    private static List<ForeignKey> foreignKeys(Metadata metadata) {
+        final List<ForeignKey> foreignKeys = new ArrayList<>();
+        for (TableDefinition parent : metadata.findTableDefinitions()) {
+            for (TableAssociationDefinition association : parent.getAssociations()) {
+                final TableDefinition child = metadata.findTableDefinition(association.getAssociatedEntityClass());
+                if (child == null || association.getJoinColumnName().isEmpty()) {
+                    continue;
+                }
+                foreignKeys.add(new ForeignKey(
+                        child.getTableName(),
+                        "fk_" + child.getTableName() + "_" + association.getJoinColumnName(),
+                        association.getJoinColumnName(),
+                        parent.getTableName(),
+                        parent.getIdColumnName()
+                ));
+            }
+        }
+        return foreignKeys;
+    }
+
+    private static List<String> dropTableQueries(final Metadata metadata) {
+        final List<String> queries = new ArrayList<>();
+        if (metadata.isForeignKeyConstraintEnabled()) {
+            for (ForeignKey foreignKey : foreignKeys(metadata)) {
+                final String query = new DropForeignKeyQueryBuilder(
+                        foreignKey.tableName(), foreignKey.constraintName()
+                ).build();
+                SqlLogger.infoAlterTable(query);
+                queries.add(query);
+            }
+        }
         metadata.findTableDefinitions().forEach(table -> {
             final String query = new DropQueryBuilder(table.getTableName()).build();
 
             SqlLogger.infoDropTable(query);
 
-            jdbcTemplate.execute(query);
+            queries.add(query);
+        });
+        return queries;
+    }
+
+    // join columns of the owning side live in the associated table, same as CreateTableQueryBuilder
+    private static List<ColumnDefinitionAware> expectedColumns(TableDefinition table, Metadata metadata) {
+        final List<ColumnDefinitionAware> columns = new ArrayList<>(table.getColumns());
+        columns.addAll(metadata.getForeignKeys(table.getEntityClass()));
+        return columns;
+    }
+
+    // a single metadata query for the current schema, however many entities there are
+    private static Map<String, Map<String, ExistingColumn>> readExistingColumns(final JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.readMetaData((metaData, schema) -> {
+            final Map<String, Map<String, ExistingColumn>> columns = new HashMap<>();
+            try (ResultSet resultSet = metaData.getColumns(null, schema, "%", "%")) {
+                while (resultSet.next()) {
+                    columns.computeIfAbsent(normalize(resultSet.getString("TABLE_NAME")), table -> new HashMap<>())
+                            .put(normalize(resultSet.getString("COLUMN_NAME")), new ExistingColumn(
+                                    resultSet.getString("TYPE_NAME"),
+                                    resultSet.getInt("COLUMN_SIZE"),
+                                    resultSet.getInt("DECIMAL_DIGITS"),
+                                    resultSet.getInt("NULLABLE")
+                            ));
+                }
+            }
+            return columns;
         });
     }
+
+    private record ExistingColumn(String typeName, int size, int decimalDigits, int nullable) {
+    }
+
+    private record ForeignKey(String tableName,
+                              String constraintName,
+                              String columnName,
+                              String referencedTableName,
+                              String referencedColumnName) {
+    }
+
+    // unquoted identifiers are case-insensitive
+    private static String normalize(String identifier) {
+        return identifier.toUpperCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,27 @@
+package persistence.session;
+
+import java.util.function.Supplier;
+
+// stands in for ScopedValue, which is still a preview API on the Java 21 toolchain:
+// a value is only visible while the work runs and the previous binding is restored on exit
+class ScopedCarrier<T> {
+    private final ThreadLocal<T> current = new ThreadLocal<>();
+
+    T get() {
+        return current.get();
+    }
+
+    <R> R where(T value, Supplier<R> work) {
+        final T previous = current.get();
+        current.set(value);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package persistence.session;
+
+import java.util.function.Supplier;
+
+public class ScopedCurrentSessionContext implements CurrentSessionContext {
+
+    private final ScopedCarrier<SessionSlot> carrier = new ScopedCarrier<>();
+
+    @Override
+    public EntityManager currentSession() {
+        final SessionSlot slot = carrier.get();
+        return slot == null ? null : slot.session;
+    }
+
+    @Override
+    public void bindSession(EntityManager session) {
+        final SessionSlot slot = carrier.get();
+        if (slot == null) {
+            throw new IllegalStateException("No session scope is open, use runInSession or callInSession");
+        }
+        slot.session = session;
+    }
+
+    @Override
+    public void closeSession() {
+        final SessionSlot slot = carrier.get();
+        if (slot == null || slot.session == null) {
+            return;
+        }
+        slot.session.clear();
+        slot.session = null;
+    }
+
+    @Override
+    public <T> T callInScope(Supplier<T> work) {
+        return carrier.where(new SessionSlot(), work);
+    }
+
+    @Override
+    public boolean bindsOpenedSession() {
+        return false;
+    }
+
+    private static class SessionSlot {
+        private EntityManager session;
+    }
+}
@@ -1,52 +1,173 @@
 package persistence.session;
 
+import database.ConnectionPool;
 import jdbc.JdbcTemplate;
+import jdbc.RowMapperFactory;
+import persistence.action.ActionOrdering;
 import persistence.action.ActionQueue;
+import persistence.cache.CollectionCache;
+import persistence.cache.QueryResultsCache;
+import persistence.cache.UpdateTimestampsCache;
+import persistence.entity.InFlightLoadRegistry;
 import persistence.entity.StatefulPersistenceContext;
+import persistence.event.EventListenerRegistry;
 import persistence.event.SessionService;
 import persistence.meta.Metadata;
 import persistence.meta.Metamodel;
+import persistence.stat.NPlusOneDetector;
+import persistence.stat.Statistics;
+import persistence.stat.StatisticsImpl;
 
 import java.sql.SQLException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class SessionFactoryImpl implements EntityManagerFactory {
 
     private final CurrentSessionContext currentSessionContext;
     private final Metadata metadata;
+    private final SchemaAction schemaAction;
+    private final ActionOrdering actionOrdering;
+    private final StatisticsImpl statistics;
+    private final InFlightLoadRegistry inFlightLoads;
+    private final UpdateTimestampsCache updateTimestamps;
+    private final QueryResultsCache queryResultsCache;
+    private final CollectionCache collectionCache;
+    private final RowMapperFactory rowMapperFactory;
+    private final ConnectionPool connectionPool;
+    private final EventListenerRegistry eventListenerRegistry;
+    private final SessionService sessionService;
+    private volatile int nPlusOneThreshold;
+    private volatile NPlusOneDetector.Reaction nPlusOneReaction = NPlusOneDetector.Reaction.LOG;
 
     public SessionFactoryImpl(CurrentSessionContext currentSessionContext,
                               Metadata metadata) throws SQLException {
+        this(currentSessionContext, metadata, metadata.getSchemaAction());
+    }
+
+    public SessionFactoryImpl(CurrentSessionContext currentSessionContext,
+                              Metadata metadata,
+                              SchemaAction schemaAction) throws SQLException {
         this.currentSessionContext = currentSessionContext;
         this.metadata = metadata;
+        this.schemaAction = schemaAction;
+        this.actionOrdering = new ActionOrdering(metadata.findTableDefinitions());
+        this.statistics = new StatisticsImpl();
+        this.updateTimestamps = new UpdateTimestampsCache();
+        this.inFlightLoads = new InFlightLoadRegistry(updateTimestamps);
+        this.queryResultsCache = new QueryResultsCache(updateTimestamps);
+        this.collectionCache = new CollectionCache(updateTimestamps);
+        this.rowMapperFactory = new RowMapperFactory();
+        this.connectionPool = new ConnectionPool(metadata.getDatabase());
+        this.eventListenerRegistry = new EventListenerRegistry();
+        this.sessionService = new SessionService(eventListenerRegistry);
 
         // schema generation
-        SchemaManagementToolCoordinator.processCreateTable(
-                new JdbcTemplate(metadata.getDatabase().getConnection()),
-                metadata
-        );
+        if (schemaAction != SchemaAction.NONE) {
+            final JdbcTemplate jdbcTemplate = new JdbcTemplate(metadata.getDatabase().getConnection());
+            try {
+                SchemaManagementToolCoordinator.processStart(jdbcTemplate, metadata, schemaAction);
+            } finally {
+                jdbcTemplate.close();
+            }
+        }
     }
 
     @Override
     public EntityManager openSession() throws SQLException {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(metadata.getDatabase().getConnection());
+        final SessionImpl session = newSession();
+        if (currentSessionContext.bindsOpenedSession()) {
+            currentSessionContext.bindSession(session);
+        }
+        return session;
+    }
+
+    // no connection is taken here, sessions that never run SQL never hold one
+    private SessionImpl newSession() {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                connectionPool,
+                statistics,
+                new NPlusOneDetector(nPlusOneThreshold, nPlusOneReaction)
+        );
 
-        final EntityManager newSession = new SessionImpl(
+        final SessionImpl newSession = new SessionImpl(
                 new StatefulPersistenceContext(),
-                new Metamodel(metadata, jdbcTemplate),
-                new SessionService(),
-                new ActionQueue()
+                new Metamodel(metadata, jdbcTemplate, inFlightLoads, queryResultsCache, collectionCache, rowMapperFactory),
+                sessionService,
+                new ActionQueue(actionOrdering, updateTimestamps, collectionCache)
         );
 
-        currentSessionContext.bindSession(newSession);
+        statistics.openSession();
         return newSession;
     }
 
+    public EntityManager getCurrentSession() {
+        return currentSessionContext.currentSession();
+    }
+
+    public void runInSession(Consumer<EntityManager> work) {
+        callInSession(session -> {
+            work.accept(session);
+            return null;
+        });
+    }
+
+    // the session is bound only while work runs and is closed on the way out, even on failure
+    public <T> T callInSession(Function<EntityManager, T> work) {
+        return currentSessionContext.callInScope(() -> {
+            final SessionImpl session = newSession();
+            currentSessionContext.bindSession(session);
+            try {
+                return work.apply(session);
+            } finally {
+                session.close();
+                currentSessionContext.closeSession();
+            }
+        });
+    }
+
+    // listeners added here apply to every session of this factory, including ones already open
+    public EventListenerRegistry getEventListenerRegistry() {
+        return eventListenerRegistry;
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    public RowMapperFactory getRowMapperFactory() {
+        return rowMapperFactory;
+    }
+
+    public void setQueryCacheEnabled(boolean enabled) {
+        queryResultsCache.setEnabled(enabled);
+    }
+
+    public void setCollectionCacheEnabled(boolean enabled) {
+        collectionCache.setEnabled(enabled);
+    }
+
+    // sessions opened afterwards report statements repeated more than threshold times, 0 turns detection off
+    public void setNPlusOneDetection(int threshold, NPlusOneDetector.Reaction reaction) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+        }
+        this.nPlusOneThreshold = threshold;
+        this.nPlusOneReaction = reaction;
+    }
+
     @Override
     public void close() throws SQLException {
-        SchemaManagementToolCoordinator.processDropTable(
-                new JdbcTemplate(metadata.getDatabase().getConnection()),
-                metadata
-        );
+        if (schemaAction.dropsOnClose()) {
+            final JdbcTemplate jdbcTemplate = new JdbcTemplate(metadata.getDatabase().getConnection());
+            try {
+                SchemaManagementToolCoordinator.processDropTable(jdbcTemplate, metadata);
+            } finally {
+                jdbcTemplate.close();
+            }
+        }
         currentSessionContext.closeSession();
+        connectionPool.close();
     }
 }
@@ -1,6 +1,8 @@
 package persistence.session;
 
+import jdbc.StatementInspector;
 import persistence.action.ActionQueue;
+import persistence.action.EntityInsertAction;
 import persistence.entity.CollectionPersister;
 import persistence.entity.EntityEntry;
 import persistence.entity.EntityKey;
@@ -11,6 +13,8 @@ import persistence.event.EventSource;
 import persistence.event.SessionService;
 import persistence.event.delete.DeleteEvent;
 import persistence.event.delete.DeleteEventListener;
+import persistence.event.flush.AutoFlushEvent;
+import persistence.event.flush.AutoFlushEventListener;
 import persistence.event.flush.FlushEvent;
 import persistence.event.flush.FlushEventListener;
 import persistence.event.load.LoadEvent;
@@ -20,9 +24,16 @@ import persistence.event.merge.MergeEventListener;
 import persistence.event.persist.PersistEvent;
 import persistence.event.persist.PersistEventListener;
 import persistence.meta.Metamodel;
+import persistence.proxy.CollectionPrefetcher;
 import persistence.sql.definition.TableAssociationDefinition;
+import persistence.stat.NPlusOneDetector;
+import persistence.stat.StatisticsImpl;
+import persistence.transaction.EntityTransaction;
+import persistence.transaction.JdbcTransaction;
 
 import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class SessionImpl implements EventSource {
@@ -30,6 +41,8 @@ public class SessionImpl implements EventSource {
     private final Metamodel metamodel;
     private final SessionService sessionService;
     private final ActionQueue actionQueue;
+    private final EntityTransaction transaction;
+    private FlushMode flushMode = FlushMode.AUTO;
 
     public SessionImpl(PersistenceContext persistenceContext,
                        Metamodel metamodel,
@@ -40,11 +53,12 @@ public class SessionImpl implements EventSource {
         this.metamodel = metamodel;
         this.sessionService = sessionService;
         this.actionQueue = actionQueue;
+        this.transaction = new JdbcTransaction(this, metamodel.getJdbcTemplate());
     }
 
     @Override
     public <T> T find(Class<T> clazz, Object id) {
-        final EntityKey entityKey = new EntityKey((Long) id, clazz);
+        final EntityKey entityKey = new EntityKey((Serializable) id, clazz);
         final EntityEntry entityEntry = getEntityEntryOrDefault(entityKey, () -> EntityEntry.loading((Serializable) id));
 
         if (entityEntry.isManaged()) {
@@ -53,6 +67,11 @@ public class SessionImpl implements EventSource {
 
         check(entityEntry.isNotReadable(), "Entity is not managed: " + clazz.getSimpleName());
 
+        // event types without listeners are skipped before the event object is created
+        if (sessionService.LOAD.isEmpty()) {
+            return null;
+        }
+
         LoadEvent<T> event = new LoadEvent<>(this, clazz, (Serializable) id, entityEntry);
         sessionService.LOAD.fireEventOnEachListener(
                 event,
@@ -73,6 +92,11 @@ public class SessionImpl implements EventSource {
 
     @Override
     public void persist(Object entity) {
+        // a client-generated id is assigned at persist, the entity waits in the queue until flush
+        if (actionQueue.findInsertion(entity) != null) {
+            return;
+        }
+
         final EntityPersister entityPersister = metamodel.findEntityPersister(entity.getClass());
         if (entityPersister.hasId(entity)) {
             final EntityEntry entityEntry = persistenceContext.getEntityEntry(
@@ -83,6 +107,10 @@ public class SessionImpl implements EventSource {
             return;
         }
 
+        if (sessionService.PERSIST.isEmpty()) {
+            return;
+        }
+
         sessionService.PERSIST.fireEventOnEachListener(
                 PersistEvent.create(this, entity),
                 PersistEventListener::onPersist
@@ -92,11 +120,27 @@ public class SessionImpl implements EventSource {
 
     @Override
     public void remove(Object entity) {
+        final EntityInsertAction insertion = actionQueue.findInsertion(entity);
+        if (insertion != null) {
+            if (sessionService.DELETE.isEmpty()) {
+                return;
+            }
+            sessionService.DELETE.fireEventOnEachListener(
+                    DeleteEvent.create(this, entity, insertion.getEntry()),
+                    DeleteEventListener::onDelete
+            );
+            return;
+        }
+
         final EntityPersister entityPersister = metamodel.findEntityPersister(entity.getClass());
         final EntityKey entityKey = new EntityKey(entityPersister.getEntityId(entity), entity.getClass());
         final EntityEntry entityEntry = persistenceContext.getEntityEntry(entityKey);
         checkManagedEntity(entity, entityEntry);
 
+        if (sessionService.DELETE.isEmpty()) {
+            return;
+        }
+
         sessionService.DELETE.fireEventOnEachListener(
                 DeleteEvent.create(this, entity, entityEntry),
                 DeleteEventListener::onDelete
@@ -105,11 +149,20 @@ public class SessionImpl implements EventSource {
 
     @Override
     public <T> T merge(T entity) {
+        // the pending insert already writes the latest state
+        if (actionQueue.findInsertion(entity) != null) {
+            return entity;
+        }
+
         final EntityPersister entityPersister = metamodel.findEntityPersister(entity.getClass());
         final EntityKey entityKey = new EntityKey(entityPersister.getEntityId(entity), entity.getClass());
         final EntityEntry entityEntry = persistenceContext.getEntityEntry(entityKey);
         checkManagedEntity(entity, entityEntry);
 
+        if (sessionService.MERGE.isEmpty()) {
+            return entity;
+        }
+
         sessionService.MERGE.fireEventOnEachListener(
                 MergeEvent.create(this, entity, entityEntry),
                 MergeEventListener::onMerge
@@ -118,14 +171,65 @@ public class SessionImpl implements EventSource {
         return entity;
     }
 
+    @Override
+    public void prefetch(Object entity, String... associations) {
+        final EntityPersister entityPersister = metamodel.findEntityPersister(entity.getClass());
+        final CollectionPrefetcher prefetcher = new CollectionPrefetcher(metamodel.getJdbcTemplate());
+        final Set<String> querySpaces = new HashSet<>();
+
+        for (String fieldName : associations) {
+            final TableAssociationDefinition association = entityPersister.getAssociations().stream()
+                    .filter(candidate -> candidate.getFieldName().equals(fieldName))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Unknown association " + fieldName + " of " + entity.getClass().getSimpleName()));
+
+            if (prefetcher.add(entityPersister.getIterableAssociatedValue(entity, association))) {
+                querySpaces.add(metamodel.findEntityPersister(association.getAssociatedEntityClass()).getTableName());
+            }
+        }
+
+        // pending writes are flushed once here, the prefetching threads never touch the action queue
+        autoFlushIfRequired(querySpaces);
+        prefetcher.execute();
+    }
+
     @Override
     public void flush() {
+        if (sessionService.FLUSH.isEmpty()) {
+            return;
+        }
+
         sessionService.FLUSH.fireEventOnEachListener(
                 new FlushEvent(this),
                 FlushEventListener::onFlush
         );
     }
 
+    @Override
+    public boolean autoFlushIfRequired(Set<String> querySpaces) {
+        if (flushMode != FlushMode.AUTO || sessionService.AUTO_FLUSH.isEmpty()) {
+            return false;
+        }
+
+        final AutoFlushEvent event = new AutoFlushEvent(this, querySpaces);
+        sessionService.AUTO_FLUSH.fireEventOnEachListener(
+                event,
+                AutoFlushEventListener::onAutoFlush
+        );
+        return event.isFlushRequired();
+    }
+
+    @Override
+    public FlushMode getFlushMode() {
+        return flushMode;
+    }
+
+    @Override
+    public void setFlushMode(FlushMode flushMode) {
+        this.flushMode = flushMode;
+    }
+
     @Override
     public void clear() {
         persistenceContext.clear();
@@ -146,9 +250,34 @@ public class SessionImpl implements EventSource {
         }
     }
 
+    @Override
+    public EntityTransaction getTransaction() {
+        return transaction;
+    }
+
     @Override
     public void close() {
+        if (transaction.isActive()) {
+            transaction.rollback();
+        }
         clear();
+        getStatistics().closeSession();
+        metamodel.getJdbcTemplate().close();
+    }
+
+    @Override
+    public StatisticsImpl getStatistics() {
+        return metamodel.getJdbcTemplate().getStatistics();
+    }
+
+    @Override
+    public NPlusOneDetector getNPlusOneDetector() {
+        return metamodel.getJdbcTemplate().getNPlusOneDetector();
+    }
+
+    @Override
+    public void addStatementInspector(StatementInspector statementInspector) {
+        metamodel.getJdbcTemplate().addStatementInspector(statementInspector);
     }
 
     @Override
@@ -4,4 +4,7 @@ import persistence.sql.definition.ColumnDefinitionAware;
 
 public interface Dialect {
     String translateType(ColumnDefinitionAware columnDefinition);
+
+    // typeName is the TYPE_NAME DatabaseMetaData reports, which may spell the type differently than the DDL did
+    boolean matchesType(ColumnDefinitionAware columnDefinition, String typeName);
 }
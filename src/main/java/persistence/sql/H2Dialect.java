@@ -2,22 +2,50 @@ package persistence.sql;
 
 import persistence.sql.definition.ColumnDefinitionAware;
 
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class H2Dialect implements Dialect {
     private final Map<SqlType, String> typeMap = Map.of(
             SqlType.VARCHAR, "VARCHAR",
             SqlType.BIGINT, "BIGINT",
-            SqlType.INTEGER, "INTEGER"
+            SqlType.INTEGER, "INTEGER",
+            SqlType.BOOLEAN, "BOOLEAN",
+            SqlType.DOUBLE, "DOUBLE PRECISION",
+            SqlType.DECIMAL, "NUMERIC",
+            SqlType.TIMESTAMP, "TIMESTAMP WITH TIME ZONE",
+            SqlType.DATE, "DATE",
+            SqlType.UUID, "UUID",
+            SqlType.VARBINARY, "VARBINARY"
+    );
+    private final Map<SqlType, Set<String>> reportedTypeNames = Map.of(
+            SqlType.VARCHAR, Set.of("CHARACTER VARYING", "VARCHAR"),
+            SqlType.BIGINT, Set.of("BIGINT"),
+            SqlType.INTEGER, Set.of("INTEGER"),
+            SqlType.BOOLEAN, Set.of("BOOLEAN"),
+            SqlType.DOUBLE, Set.of("DOUBLE PRECISION", "DOUBLE"),
+            SqlType.DECIMAL, Set.of("NUMERIC", "DECIMAL"),
+            SqlType.TIMESTAMP, Set.of("TIMESTAMP WITH TIME ZONE"),
+            SqlType.DATE, Set.of("DATE"),
+            SqlType.UUID, Set.of("UUID"),
+            SqlType.VARBINARY, Set.of("BINARY VARYING", "VARBINARY")
     );
 
     @Override
     public String translateType(ColumnDefinitionAware columnDefinition) {
         return switch (columnDefinition.getSqlType()) {
             case VARCHAR -> typeMap.get(SqlType.VARCHAR) + "(" + columnDefinition.getLength() + ")";
-            case BIGINT -> typeMap.get(SqlType.BIGINT);
-            case INTEGER -> typeMap.get(SqlType.INTEGER);
-            case ARRAY -> throw new UnsupportedOperationException("ARRAY type is not supported by H2");
+            case VARBINARY -> typeMap.get(SqlType.VARBINARY) + "(" + columnDefinition.getLength() + ")";
+            case DECIMAL -> typeMap.get(SqlType.DECIMAL)
+                    + "(" + columnDefinition.getPrecision() + ", " + columnDefinition.getScale() + ")";
+            case BIGINT, INTEGER, BOOLEAN, DOUBLE, TIMESTAMP, DATE, UUID ->
+                    typeMap.get(columnDefinition.getSqlType());
         };
     }
+
+    @Override
+    public boolean matchesType(ColumnDefinitionAware columnDefinition, String typeName) {
+        return reportedTypeNames.get(columnDefinition.getSqlType()).contains(typeName.toUpperCase(Locale.ROOT));
+    }
 }
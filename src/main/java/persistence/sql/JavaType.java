@@ -0,0 +1,130 @@
+package persistence.sql;
+
+import persistence.sql.definition.EntityAccessor;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+
+// keyed by Class.getSimpleName() of the field type, primitives keep their own constants
+public enum JavaType {
+    LONG("long", SqlType.BIGINT, true),
+    LONG_WRAPPER("Long", SqlType.BIGINT, false),
+    INT("int", SqlType.INTEGER, true),
+    INTEGER("Integer", SqlType.INTEGER, false),
+    BOOLEAN("boolean", SqlType.BOOLEAN, true),
+    BOOLEAN_WRAPPER("Boolean", SqlType.BOOLEAN, false),
+    DOUBLE("double", SqlType.DOUBLE, true),
+    DOUBLE_WRAPPER("Double", SqlType.DOUBLE, false),
+    STRING("String", SqlType.VARCHAR, false),
+    BIG_DECIMAL("BigDecimal", SqlType.DECIMAL, false),
+    INSTANT("Instant", SqlType.TIMESTAMP, false),
+    LOCAL_DATE("LocalDate", SqlType.DATE, false),
+    UUID("UUID", SqlType.UUID, false),
+    BYTES("byte[]", SqlType.VARBINARY, false)
+    ;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSSXXX");
+
+    private final String simpleName;
+    private final SqlType sqlType;
+    private final boolean primitive;
+
+    JavaType(String simpleName, SqlType sqlType, boolean primitive) {
+        this.simpleName = simpleName;
+        this.sqlType = sqlType;
+        this.primitive = primitive;
+    }
+
+    public static JavaType from(String simpleName) {
+        for (JavaType javaType : values()) {
+            if (javaType.simpleName.equals(simpleName)) {
+                return javaType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown type: " + simpleName);
+    }
+
+    public SqlType getSqlType() {
+        return sqlType;
+    }
+
+    public boolean isPrimitive() {
+        return primitive;
+    }
+
+    // primitive fields are written without boxing, a NULL column leaves them at the JDBC default
+    public void read(ResultSet resultSet, String columnLabel,
+                     EntityAccessor accessor, Object entity, String fieldName) throws SQLException {
+        switch (this) {
+            case LONG -> accessor.setLong(entity, fieldName, resultSet.getLong(columnLabel));
+            case INT -> accessor.setInt(entity, fieldName, resultSet.getInt(columnLabel));
+            case BOOLEAN -> accessor.setBoolean(entity, fieldName, resultSet.getBoolean(columnLabel));
+            case DOUBLE -> accessor.setDouble(entity, fieldName, resultSet.getDouble(columnLabel));
+            default -> accessor.setValue(entity, fieldName, extract(resultSet, columnLabel));
+        }
+    }
+
+    public Object extract(ResultSet resultSet, String columnLabel) throws SQLException {
+        return switch (this) {
+            case LONG, LONG_WRAPPER -> {
+                final long value = resultSet.getLong(columnLabel);
+                yield resultSet.wasNull() ? null : value;
+            }
+            case INT, INTEGER -> {
+                final int value = resultSet.getInt(columnLabel);
+                yield resultSet.wasNull() ? null : value;
+            }
+            case BOOLEAN, BOOLEAN_WRAPPER -> {
+                final boolean value = resultSet.getBoolean(columnLabel);
+                yield resultSet.wasNull() ? null : value;
+            }
+            case DOUBLE, DOUBLE_WRAPPER -> {
+                final double value = resultSet.getDouble(columnLabel);
+                yield resultSet.wasNull() ? null : value;
+            }
+            case STRING -> resultSet.getString(columnLabel);
+            case BIG_DECIMAL -> resultSet.getBigDecimal(columnLabel);
+            case INSTANT -> resultSet.getObject(columnLabel, Instant.class);
+            case LOCAL_DATE -> resultSet.getObject(columnLabel, LocalDate.class);
+            case UUID -> resultSet.getObject(columnLabel, java.util.UUID.class);
+            case BYTES -> resultSet.getBytes(columnLabel);
+        };
+    }
+
+    // statements carry their values inline, so binding a value means rendering its SQL literal
+    public static String literal(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String string) {
+            return "'" + string.replace("'", "''") + "'";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        // NaN and Infinity have no numeric literal in SQL
+        if ((value instanceof Double || value instanceof Float) && !Double.isFinite(((Number) value).doubleValue())) {
+            throw new IllegalArgumentException("Cannot render non-finite number as a SQL literal: " + value);
+        }
+        if (value instanceof Instant instant) {
+            return "TIMESTAMP WITH TIME ZONE '" + TIMESTAMP_FORMAT.format(instant.atOffset(ZoneOffset.UTC)) + "'";
+        }
+        if (value instanceof LocalDate date) {
+            return "DATE '" + date + "'";
+        }
+        if (value instanceof java.util.UUID uuid) {
+            return "'" + uuid + "'";
+        }
+        if (value instanceof byte[] bytes) {
+            return "X'" + HexFormat.of().formatHex(bytes) + "'";
+        }
+        return value.toString();
+    }
+}
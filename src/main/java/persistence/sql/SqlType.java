@@ -4,16 +4,16 @@ public enum SqlType {
     VARCHAR,
     INTEGER,
     BIGINT,
-    ARRAY
+    BOOLEAN,
+    DOUBLE,
+    DECIMAL,
+    TIMESTAMP,
+    DATE,
+    UUID,
+    VARBINARY
     ;
 
     public static SqlType from(String type) {
-        return switch (type) {
-            case "Long" -> BIGINT;
-            case "String" -> VARCHAR;
-            case "Integer" -> INTEGER;
-            case "List" -> ARRAY;
-            default -> throw new IllegalArgumentException("Unknown type: " + type);
-        };
+        return JavaType.from(type).getSqlType();
     }
 }
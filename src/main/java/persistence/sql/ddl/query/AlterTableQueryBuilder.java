@@ -0,0 +1,22 @@
+package persistence.sql.ddl.query;
+
+import persistence.sql.Dialect;
+import persistence.sql.definition.ColumnDefinitionAware;
+
+public class AlterTableQueryBuilder {
+    private final StringBuilder query;
+
+    // added columns stay nullable, existing rows have no value for them
+    public AlterTableQueryBuilder(String tableName, ColumnDefinitionAware column, Dialect dialect) {
+        query = new StringBuilder();
+
+        query.append("ALTER TABLE ").append(tableName);
+        query.append(" ADD COLUMN ").append(column.getDatabaseColumnName());
+        query.append(" ").append(dialect.translateType(column));
+        query.append(";");
+    }
+
+    public String build() {
+        return query.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package persistence.sql.ddl.query;
+
+public class CreateForeignKeyQueryBuilder {
+    private final StringBuilder query;
+
+    public CreateForeignKeyQueryBuilder(String tableName,
+                                        String constraintName,
+                                        String columnName,
+                                        String referencedTableName,
+                                        String referencedColumnName) {
+        query = new StringBuilder();
+
+        query.append("ALTER TABLE ").append(tableName);
+        query.append(" ADD CONSTRAINT IF NOT EXISTS ").append(constraintName);
+        query.append(" FOREIGN KEY (").append(columnName).append(")");
+        query.append(" REFERENCES ").append(referencedTableName);
+        query.append(" (").append(referencedColumnName).append(");");
+    }
+
+    public String build() {
+        return query.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package persistence.sql.ddl.query;
+
+import persistence.sql.definition.IndexDefinition;
+
+public class CreateIndexQueryBuilder {
+    private final StringBuilder query;
+
+    public CreateIndexQueryBuilder(String tableName, IndexDefinition index) {
+        query = new StringBuilder();
+
+        query.append("CREATE ");
+        if (index.isUnique()) {
+            query.append("UNIQUE ");
+        }
+        query.append("INDEX IF NOT EXISTS ").append(index.getName());
+        query.append(" ON ").append(tableName);
+        query.append(" (").append(String.join(", ", index.getColumnNames())).append(");");
+    }
+
+    public String build() {
+        return query.toString();
+    }
+}
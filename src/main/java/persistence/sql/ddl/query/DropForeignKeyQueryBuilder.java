@@ -0,0 +1,18 @@
+package persistence.sql.ddl.query;
+
+public class DropForeignKeyQueryBuilder {
+    private final StringBuilder query;
+
+    // constraints go before their tables, either side may already be gone
+    public DropForeignKeyQueryBuilder(String tableName, String constraintName) {
+        query = new StringBuilder();
+
+        query.append("ALTER TABLE IF EXISTS ").append(tableName);
+        query.append(" DROP CONSTRAINT IF EXISTS ").append(constraintName);
+        query.append(";");
+    }
+
+    public String build() {
+        return query.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package persistence.sql.ddl.query;
+
+import jakarta.persistence.GenerationType;
+import persistence.sql.definition.TableId;
+
+// the key is generated by the client before the insert, the column needs no default
+public class UuidKeyGenerationStrategy implements PrimaryKeyGenerationStrategy {
+
+    @Override
+    public String generatePrimaryKeySQL() {
+        return "";
+    }
+
+    @Override
+    public boolean supports(TableId pk) {
+        return pk.generationType().equals(GenerationType.UUID);
+    }
+}
@@ -1,25 +1,68 @@
 package persistence.sql.definition;
 
 import jakarta.persistence.Column;
+import persistence.sql.JavaType;
 import persistence.sql.SqlType;
 
 import java.lang.reflect.Field;
+import java.util.Collection;
 
 public class ColumnDefinition {
     private static final int DEFAULT_LENGTH = 255;
+    private static final int DEFAULT_PRECISION = 38;
+    private static final int DEFAULT_SCALE = 2;
 
     private final String columnName;
     private final SqlType sqlType;
+    private final String javaTypeName;
+    private final JavaType javaType;
     private final String declaredName;
     private final boolean nullable;
     private final int length;
+    private final int precision;
+    private final int scale;
 
     public ColumnDefinition(Field field) {
+        validateNotCollection(field);
         this.declaredName = field.getName();
         this.columnName = determineColumnName(field);
-        this.sqlType = determineColumnType(field);
-        this.nullable = determineColumnNullable(field);
+        this.javaTypeName = field.getType().getSimpleName();
+        this.javaType = JavaType.from(javaTypeName);
+        this.sqlType = javaType.getSqlType();
+        this.nullable = determineColumnNullable(field) && !javaType.isPrimitive();
         this.length = determineColumnLength(field);
+        final Column column = field.getAnnotation(Column.class);
+        this.precision = determinePrecision(column == null ? 0 : column.precision());
+        this.scale = determineScale(column == null ? 0 : column.precision(), column == null ? 0 : column.scale());
+    }
+
+    public ColumnDefinition(EntityDescriptor.Column column) {
+        this.declaredName = column.fieldName();
+        this.columnName = column.columnName();
+        this.javaTypeName = column.javaTypeName();
+        this.javaType = JavaType.from(javaTypeName);
+        this.sqlType = javaType.getSqlType();
+        this.nullable = column.nullable() && !javaType.isPrimitive();
+        this.length = column.length();
+        this.precision = determinePrecision(column.precision());
+        this.scale = determineScale(column.precision(), column.scale());
+    }
+
+    // a collection is only mapped through an association, there is no column type for it
+    private static void validateNotCollection(Field field) {
+        if (Collection.class.isAssignableFrom(field.getType())) {
+            throw new IllegalArgumentException("Collection field " + field.getName() + " of "
+                    + field.getDeclaringClass().getName() + " must be mapped as an association or be @Transient");
+        }
+    }
+
+    // 0 is @Column's "not specified", which falls back to DECIMAL(38, 2)
+    private static int determinePrecision(int precision) {
+        return precision > 0 ? precision : DEFAULT_PRECISION;
+    }
+
+    private static int determineScale(int precision, int scale) {
+        return precision > 0 || scale > 0 ? scale : DEFAULT_SCALE;
     }
 
     private static String determineColumnName(Field field) {
@@ -35,11 +78,6 @@ public class ColumnDefinition {
         return columnName;
     }
 
-    private static SqlType determineColumnType(Field field) {
-        final String entityFieldType = field.getType().getSimpleName();
-        return SqlType.from(entityFieldType);
-    }
-
     private static int determineColumnLength(Field field) {
         if (field.isAnnotationPresent(Column.class)) {
             Column column = field.getAnnotation(Column.class);
@@ -64,10 +102,26 @@ public class ColumnDefinition {
         return sqlType;
     }
 
+    public JavaType getJavaType() {
+        return javaType;
+    }
+
+    public String getJavaTypeName() {
+        return javaTypeName;
+    }
+
     public int getLength() {
         return length;
     }
 
+    public int getPrecision() {
+        return precision;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
     public boolean isNullable() {
         return nullable;
     }
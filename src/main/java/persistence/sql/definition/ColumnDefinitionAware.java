@@ -1,5 +1,6 @@
 package persistence.sql.definition;
 
+import persistence.sql.JavaType;
 import persistence.sql.SqlType;
 
 public interface ColumnDefinitionAware {
@@ -11,7 +12,15 @@ public interface ColumnDefinitionAware {
 
     int getLength();
 
+    int getPrecision();
+
+    int getScale();
+
     SqlType getSqlType();
 
+    String getJavaTypeName();
+
+    JavaType getJavaType();
+
     boolean isPrimaryKey();
 }
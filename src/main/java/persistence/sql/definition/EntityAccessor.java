@@ -0,0 +1,26 @@
+package persistence.sql.definition;
+
+public interface EntityAccessor {
+    Object newInstance();
+
+    Object getValue(Object entity, String fieldName);
+
+    void setValue(Object entity, String fieldName, Object value);
+
+    // overridden where a primitive field can be written without boxing
+    default void setLong(Object entity, String fieldName, long value) {
+        setValue(entity, fieldName, value);
+    }
+
+    default void setInt(Object entity, String fieldName, int value) {
+        setValue(entity, fieldName, value);
+    }
+
+    default void setBoolean(Object entity, String fieldName, boolean value) {
+        setValue(entity, fieldName, value);
+    }
+
+    default void setDouble(Object entity, String fieldName, double value) {
+        setValue(entity, fieldName, value);
+    }
+}
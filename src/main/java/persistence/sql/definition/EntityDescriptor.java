@@ -0,0 +1,57 @@
+package persistence.sql.definition;
+
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GenerationType;
+
+import java.util.List;
+import java.util.Optional;
+
+// implemented by the <Entity>_Descriptor classes that bootstrap.processor.EntityDescriptorProcessor generates
+public interface EntityDescriptor extends EntityAccessor {
+    String DESCRIPTOR_SUFFIX = "_Descriptor";
+
+    Class<?> getEntityClass();
+
+    String getTableName();
+
+    List<Column> getColumns();
+
+    List<Association> getAssociations();
+
+    List<Index> getIndexes();
+
+    // precision and scale keep @Column's 0 for "not specified"
+    record Column(String fieldName,
+                  String columnName,
+                  String javaTypeName,
+                  boolean nullable,
+                  int length,
+                  int precision,
+                  int scale,
+                  boolean id,
+                  GenerationType generationType) {
+    }
+
+    record Association(String fieldName,
+                       Class<?> associatedEntityClass,
+                       String joinColumnName,
+                       FetchType fetchType) {
+    }
+
+    record Index(String name,
+                 List<String> columnNames,
+                 boolean unique) {
+    }
+
+    static Optional<EntityDescriptor> find(Class<?> entityClass) {
+        final String descriptorName = entityClass.getName() + DESCRIPTOR_SUFFIX;
+        try {
+            final Class<?> descriptorClass = Class.forName(descriptorName, true, entityClass.getClassLoader());
+            return Optional.of((EntityDescriptor) descriptorClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create descriptor " + descriptorName, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package persistence.sql.definition;
+
+import jakarta.persistence.Index;
+import jakarta.persistence.UniqueConstraint;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class IndexDefinition {
+    private final String name;
+    private final List<String> columnNames;
+    private final boolean unique;
+
+    public IndexDefinition(String tableName, String name, List<String> columnNames, boolean unique) {
+        if (columnNames.isEmpty()) {
+            throw new IllegalArgumentException("Index on " + tableName + " must have at least one column");
+        }
+
+        this.columnNames = List.copyOf(columnNames);
+        this.unique = unique;
+        this.name = name.isEmpty() ? defaultName(tableName, this.columnNames, unique) : name;
+    }
+
+    public IndexDefinition(String tableName, Index index) {
+        this(tableName, index.name(), parseColumnList(index.columnList()), index.unique());
+    }
+
+    public IndexDefinition(String tableName, UniqueConstraint constraint) {
+        this(tableName, constraint.name(), Arrays.asList(constraint.columnNames()), true);
+    }
+
+    public IndexDefinition(String tableName, EntityDescriptor.Index index) {
+        this(tableName, index.name(), index.columnNames(), index.unique());
+    }
+
+    // @Index.columnList is "a, b DESC", the ordering stays part of the column entry
+    public static List<String> parseColumnList(String columnList) {
+        return Arrays.stream(columnList.split(","))
+                .map(String::strip)
+                .filter(column -> !column.isEmpty())
+                .toList();
+    }
+
+    private static String defaultName(String tableName, List<String> columnNames, boolean unique) {
+        final String columns = columnNames.stream()
+                .map(column -> column.split("\\s+")[0])
+                .reduce((left, right) -> left + "_" + right)
+                .orElseThrow();
+        return (unique ? "uk_" : "idx_") + tableName + "_" + columns;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public boolean isUnique() {
+        return unique;
+    }
+
+    // true when a lookup on the column alone can use this index
+    public boolean startsWith(String columnName) {
+        return columnNames.get(0).split("\\s+")[0].equalsIgnoreCase(columnName);
+    }
+}
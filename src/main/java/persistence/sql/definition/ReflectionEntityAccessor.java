@@ -0,0 +1,99 @@
+package persistence.sql.definition;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+// used for entities without a generated descriptor, fields are opened once instead of on every access
+public class ReflectionEntityAccessor implements EntityAccessor {
+    private final Class<?> entityClass;
+    private final Map<String, Field> fields;
+
+    public ReflectionEntityAccessor(Class<?> entityClass) {
+        this.entityClass = entityClass;
+        final Map<String, Field> fields = new HashMap<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            field.setAccessible(true);
+            fields.put(field.getName(), field);
+        }
+        this.fields = Map.copyOf(fields);
+    }
+
+    @Override
+    public Object newInstance() {
+        try {
+            final Constructor<?> constructor = entityClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create new instance of " + entityClass.getName(), e);
+        }
+    }
+
+    @Override
+    public Object getValue(Object entity, String fieldName) {
+        final Field field = fields.get(fieldName);
+        if (field == null) {
+            return null;
+        }
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field value", e);
+        }
+    }
+
+    @Override
+    public void setValue(Object entity, String fieldName, Object value) {
+        try {
+            findField(fieldName).set(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field value", e);
+        }
+    }
+
+    @Override
+    public void setLong(Object entity, String fieldName, long value) {
+        try {
+            findField(fieldName).setLong(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field value", e);
+        }
+    }
+
+    @Override
+    public void setInt(Object entity, String fieldName, int value) {
+        try {
+            findField(fieldName).setInt(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field value", e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object entity, String fieldName, boolean value) {
+        try {
+            findField(fieldName).setBoolean(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field value", e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object entity, String fieldName, double value) {
+        try {
+            findField(fieldName).setDouble(entity, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field value", e);
+        }
+    }
+
+    private Field findField(String fieldName) {
+        final Field field = fields.get(fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field " + fieldName + " of " + entityClass.getName());
+        }
+        return field;
+    }
+}
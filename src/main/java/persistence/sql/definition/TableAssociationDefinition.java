@@ -1,6 +1,5 @@
 package persistence.sql.definition;
 
-import common.ReflectionFieldAccessUtils;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
@@ -17,18 +16,45 @@ import java.util.List;
 public class TableAssociationDefinition {
     private final Class<?> parentEntityClass;
     private final Class<?> associatedEntityClass;
-    private final JoinColumn joinColumn;
+    private final String joinColumnName;
     private final FetchType fetchType;
     private final String fieldName;
     private final boolean isCollection;
+    private final EntityAccessor parentAccessor;
 
     public TableAssociationDefinition(Class<?> parentEntityClass, Field field) {
+        this(parentEntityClass, field, new ReflectionEntityAccessor(parentEntityClass));
+    }
+
+    public TableAssociationDefinition(Class<?> parentEntityClass, Field field, EntityAccessor parentAccessor) {
         this.parentEntityClass = parentEntityClass;
         this.associatedEntityClass = getGenericActualType(field);
-        this.joinColumn = field.getAnnotation(JoinColumn.class);
+        this.joinColumnName = getJoinColumnName(field);
         this.fieldName = field.getName();
         this.fetchType = getFetchType(field);
         this.isCollection = Collection.class.isAssignableFrom(field.getType());
+        this.parentAccessor = parentAccessor;
+    }
+
+    // descriptors only list collection associations
+    public TableAssociationDefinition(Class<?> parentEntityClass,
+                                      EntityDescriptor.Association association,
+                                      EntityAccessor parentAccessor) {
+        this.parentEntityClass = parentEntityClass;
+        this.associatedEntityClass = association.associatedEntityClass();
+        this.joinColumnName = association.joinColumnName();
+        this.fieldName = association.fieldName();
+        this.fetchType = association.fetchType();
+        this.isCollection = true;
+        this.parentAccessor = parentAccessor;
+    }
+
+    private static String getJoinColumnName(Field field) {
+        final JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null) {
+            return joinColumn.name();
+        }
+        return "";
     }
 
     private static FetchType getFetchType(Field field) {
@@ -55,6 +81,10 @@ public class TableAssociationDefinition {
         return fieldName;
     }
 
+    public FetchType getFetchType() {
+        return fetchType;
+    }
+
     public boolean isEager() {
         return fetchType == FetchType.EAGER;
     }
@@ -64,18 +94,15 @@ public class TableAssociationDefinition {
     }
 
     public String getJoinColumnName() {
-        if (joinColumn != null) {
-            return joinColumn.name();
-        }
-        return "";
+        return joinColumnName;
     }
 
+    @SuppressWarnings("unchecked")
     public Collection<Object> getCollectionField(Object instance) throws NoSuchFieldException {
-        final Field field = instance.getClass().getDeclaredField(getFieldName());
-        Collection<Object> entityCollection = (Collection<Object>) ReflectionFieldAccessUtils.accessAndGet(instance, field);
+        Collection<Object> entityCollection = (Collection<Object>) parentAccessor.getValue(instance, fieldName);
         if (entityCollection == null) {
             entityCollection = new ArrayList<>();
-            ReflectionFieldAccessUtils.accessAndSet(instance, field, entityCollection);
+            parentAccessor.setValue(instance, fieldName, entityCollection);
         }
 
         return entityCollection;
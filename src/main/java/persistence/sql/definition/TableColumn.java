@@ -1,6 +1,7 @@
 package persistence.sql.definition;
 
 import jakarta.persistence.Id;
+import persistence.sql.JavaType;
 import persistence.sql.SqlType;
 
 import java.lang.reflect.Field;
@@ -14,6 +15,11 @@ public class TableColumn implements ColumnDefinitionAware {
         this.isPrimaryKey = field.isAnnotationPresent(Id.class);
     }
 
+    public TableColumn(EntityDescriptor.Column column) {
+        this.columnDefinition = new ColumnDefinition(column);
+        this.isPrimaryKey = column.id();
+    }
+
     @Override
     public String getDatabaseColumnName() {
         return columnDefinition.getColumnName();
@@ -34,11 +40,31 @@ public class TableColumn implements ColumnDefinitionAware {
         return columnDefinition.getLength();
     }
 
+    @Override
+    public int getPrecision() {
+        return columnDefinition.getPrecision();
+    }
+
+    @Override
+    public int getScale() {
+        return columnDefinition.getScale();
+    }
+
     @Override
     public SqlType getSqlType() {
         return columnDefinition.getSqlType();
     }
 
+    @Override
+    public JavaType getJavaType() {
+        return columnDefinition.getJavaType();
+    }
+
+    @Override
+    public String getJavaTypeName() {
+        return columnDefinition.getJavaTypeName();
+    }
+
     @Override
     public boolean isPrimaryKey() {
         return isPrimaryKey;
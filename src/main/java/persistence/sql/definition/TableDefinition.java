@@ -1,16 +1,21 @@
 package persistence.sql.definition;
 
-import common.ReflectionFieldAccessUtils;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,22 +29,46 @@ public class TableDefinition {
     private final TableId tableId;
     private final List<? extends ColumnDefinitionAware> columns;
     private final List<TableAssociationDefinition> associations;
+    private final List<IndexDefinition> indexes;
+    private final EntityAccessor accessor;
 
     public TableDefinition(Class<?> entityClass) {
         validateEntityAnnotationPresent(entityClass);
         validateHasOneId(entityClass);
 
         this.entityClass = entityClass;
+        this.accessor = new ReflectionEntityAccessor(entityClass);
         this.tableName = getDatabaseTableName(entityClass);
         this.tableId = new TableId(entityClass);
-        this.associations = createAssociations(entityClass);
+        this.associations = createAssociations(entityClass, accessor);
         this.columns = createTableColumns(entityClass);
+        this.indexes = createIndexes(entityClass, tableName);
     }
 
-    private static List<TableAssociationDefinition> createAssociations(Class<?> entityClass) {
+    // the processor already resolved annotations and generics, nothing is looked up reflectively here
+    public TableDefinition(EntityDescriptor descriptor) {
+        this.entityClass = descriptor.getEntityClass();
+        this.accessor = descriptor;
+        this.tableName = descriptor.getTableName();
+        this.tableId = descriptor.getColumns().stream()
+                .filter(EntityDescriptor.Column::id)
+                .findFirst()
+                .map(TableId::new)
+                .orElseThrow(() -> new IllegalArgumentException("Entity must have exactly one field annotated with @Id"));
+        this.associations = descriptor.getAssociations().stream()
+                .map(association -> new TableAssociationDefinition(entityClass, association, descriptor))
+                .toList();
+        this.columns = descriptor.getColumns().stream()
+                .map(TableColumn::new)
+                .toList();
+        this.indexes = descriptor.getIndexes().stream()
+                .map(index -> new IndexDefinition(tableName, index))
+                .toList();
+    }
+
+    private static List<TableAssociationDefinition> createAssociations(Class<?> entityClass, EntityAccessor accessor) {
         final List<Field> collectionFields = Arrays.stream(entityClass.getDeclaredFields())
-                .filter(TableDefinition::isAssociationAnnotationPresent)
-                .filter(field -> Collection.class.isAssignableFrom(field.getType()))
+                .filter(TableDefinition::isAssociation)
                 .toList();
 
         if (collectionFields.isEmpty()) {
@@ -47,10 +76,14 @@ public class TableDefinition {
         }
 
         return collectionFields.stream()
-                .map(field -> new TableAssociationDefinition(entityClass, field))
+                .map(field -> new TableAssociationDefinition(entityClass, field, accessor))
                 .toList();
     }
 
+    private static boolean isAssociation(Field field) {
+        return isAssociationAnnotationPresent(field) && Collection.class.isAssignableFrom(field.getType());
+    }
+
     private static boolean isAssociationAnnotationPresent(Field field) {
         return field.isAnnotationPresent(OneToMany.class)
                 || field.isAnnotationPresent(ManyToMany.class)
@@ -80,14 +113,38 @@ public class TableDefinition {
         return tableName;
     }
 
+    // a collection field that is not an association reaches TableColumn and is rejected there
     private static List<? extends ColumnDefinitionAware> createTableColumns(Class<?> entityClass) {
         return Arrays.stream(entityClass.getDeclaredFields())
                 .filter(field -> !field.isAnnotationPresent(Transient.class))
-                .filter(field -> !Collection.class.isAssignableFrom(field.getType()))
+                .filter(field -> !isAssociation(field))
                 .map(TableColumn::new)
                 .toList();
     }
 
+    // declared indexes first, then unique constraints, then unique columns in field order
+    private static List<IndexDefinition> createIndexes(Class<?> entityClass, String tableName) {
+        final List<IndexDefinition> indexes = new ArrayList<>();
+        final Table table = entityClass.getAnnotation(Table.class);
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                indexes.add(new IndexDefinition(tableName, index));
+            }
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                indexes.add(new IndexDefinition(tableName, constraint));
+            }
+        }
+
+        for (Field field : entityClass.getDeclaredFields()) {
+            final Column column = field.getAnnotation(Column.class);
+            if (column != null && column.unique() && !field.isAnnotationPresent(Transient.class)) {
+                final String columnName = column.name().isEmpty() ? field.getName() : column.name();
+                indexes.add(new IndexDefinition(tableName, "", List.of(columnName), true));
+            }
+        }
+        return List.copyOf(indexes);
+    }
+
     private void validateEntityAnnotationPresent(Class<?> clazz) {
         if (!clazz.isAnnotationPresent(Entity.class)) {
             throw new IllegalArgumentException("Entity must be annotated with @Entity");
@@ -117,6 +174,10 @@ public class TableDefinition {
         return columns;
     }
 
+    public List<IndexDefinition> getIndexes() {
+        return indexes;
+    }
+
     public List<TableAssociationDefinition> getAssociations() {
         return associations;
     }
@@ -152,6 +213,11 @@ public class TableDefinition {
         final TableId tableId = getTableId();
         final Object id = getValue(entity, tableId);
 
+        // a primitive id cannot be null, zero stands for "not assigned yet"
+        if (tableId.getJavaType().isPrimitive() && id instanceof Number number && number.longValue() == 0L) {
+            return null;
+        }
+
         if (id instanceof Serializable) {
             return (Serializable) id;
         }
@@ -160,13 +226,31 @@ public class TableDefinition {
     }
 
     public Object getValue(Object entity, ColumnDefinitionAware column) {
-        for (Field declaredField : getEntityClass().getDeclaredFields()) {
-            if (declaredField.getName().equals(column.getEntityFieldName())) {
-                return ReflectionFieldAccessUtils.accessAndGet(entity, declaredField);
-            }
+        return accessor.getValue(entity, column.getEntityFieldName());
+    }
+
+    // generated keys come back as long, narrowed to whatever the id field declares
+    public void bindGeneratedId(Object entity, long key) {
+        final String idFieldName = getIdFieldName();
+        switch (tableId.getJavaType()) {
+            case LONG -> accessor.setLong(entity, idFieldName, key);
+            case INT -> accessor.setInt(entity, idFieldName, Math.toIntExact(key));
+            case INTEGER -> accessor.setValue(entity, idFieldName, Math.toIntExact(key));
+            default -> accessor.setValue(entity, idFieldName, key);
         }
+    }
 
-        return null;
+    public void readColumn(ResultSet resultSet, String columnLabel,
+                           Object entity, ColumnDefinitionAware column) throws SQLException {
+        column.getJavaType().read(resultSet, columnLabel, accessor, entity, column.getEntityFieldName());
+    }
+
+    public void setValue(Object entity, String fieldName, Object value) {
+        accessor.setValue(entity, fieldName, value);
+    }
+
+    public Object newInstance() {
+        return accessor.newInstance();
     }
 
     public Object getValue(Object entity, String databaseColumnName) {
@@ -186,6 +270,9 @@ public class TableDefinition {
     }
 
     public boolean hasValue(Object entity, ColumnDefinitionAware column) {
+        if (column.isPrimaryKey()) {
+            return hasId(entity);
+        }
         final Object value = getValue(entity, column);
         return value != null;
     }
@@ -198,15 +285,10 @@ public class TableDefinition {
             Object entity,
             TableAssociationDefinition association) {
 
-        try {
-            Field field = getEntityClass().getDeclaredField(association.getFieldName());
-            if (!Collection.class.isAssignableFrom(field.getType())) {
-                return Collections.emptyList();
-            }
-            return (Collection<?>) ReflectionFieldAccessUtils.accessAndGet(entity, field);
-        } catch (ReflectiveOperationException e) {
-            return null;
+        if (!association.isCollection()) {
+            return Collections.emptyList();
         }
+        return (Collection<?>) accessor.getValue(entity, association.getFieldName());
     }
 
     public List<Object> getValues(Object entity, List<? extends ColumnDefinitionAware> columns) {
@@ -224,4 +306,8 @@ public class TableDefinition {
     public boolean isIdentityIdentifier() {
         return tableId.isIdentity();
     }
+
+    public boolean isClientGeneratedIdentifier() {
+        return tableId.isClientGenerated();
+    }
 }
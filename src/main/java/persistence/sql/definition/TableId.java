@@ -3,10 +3,12 @@ package persistence.sql.definition;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import persistence.sql.JavaType;
 import persistence.sql.SqlType;
 import persistence.sql.ddl.query.AutoKeyGenerationStrategy;
 import persistence.sql.ddl.query.IdentityKeyGenerationStrategy;
 import persistence.sql.ddl.query.PrimaryKeyGenerationStrategy;
+import persistence.sql.ddl.query.UuidKeyGenerationStrategy;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -15,7 +17,8 @@ import java.util.List;
 public class TableId implements ColumnDefinitionAware {
     private static final List<PrimaryKeyGenerationStrategy> pkGenerationStrategies = List.of(
             new AutoKeyGenerationStrategy(),
-            new IdentityKeyGenerationStrategy()
+            new IdentityKeyGenerationStrategy(),
+            new UuidKeyGenerationStrategy()
     );
 
     private final GenerationType generationType;
@@ -32,6 +35,14 @@ public class TableId implements ColumnDefinitionAware {
         this.columnDefinition = new ColumnDefinition(pkField);
         this.generationType = determineGenerationType(pkField);
         this.strategy = findProperGenerationStrategy();
+        checkGeneratedType();
+    }
+
+    public TableId(EntityDescriptor.Column idColumn) {
+        this.columnDefinition = new ColumnDefinition(idColumn);
+        this.generationType = idColumn.generationType();
+        this.strategy = findProperGenerationStrategy();
+        checkGeneratedType();
     }
 
     private static GenerationType determineGenerationType(Field field) {
@@ -52,6 +63,12 @@ public class TableId implements ColumnDefinitionAware {
                 .orElseThrow(() -> new IllegalStateException("Unsupported primary key generation strategy"));
     }
 
+    private void checkGeneratedType() {
+        if (isClientGenerated() && getJavaType() != JavaType.UUID) {
+            throw new IllegalArgumentException("UUID generation requires a UUID id: " + getEntityFieldName());
+        }
+    }
+
     public String generatePrimaryKeySQL() {
         return strategy.generatePrimaryKeySQL();
     }
@@ -80,11 +97,31 @@ public class TableId implements ColumnDefinitionAware {
         return columnDefinition.getLength();
     }
 
+    @Override
+    public int getPrecision() {
+        return columnDefinition.getPrecision();
+    }
+
+    @Override
+    public int getScale() {
+        return columnDefinition.getScale();
+    }
+
     @Override
     public SqlType getSqlType() {
         return columnDefinition.getSqlType();
     }
 
+    @Override
+    public JavaType getJavaType() {
+        return columnDefinition.getJavaType();
+    }
+
+    @Override
+    public String getJavaTypeName() {
+        return columnDefinition.getJavaTypeName();
+    }
+
     @Override
     public boolean isPrimaryKey() {
         return true;
@@ -93,4 +130,8 @@ public class TableId implements ColumnDefinitionAware {
     public boolean isIdentity() {
         return strategy instanceof IdentityKeyGenerationStrategy;
     }
+
+    public boolean isClientGenerated() {
+        return strategy instanceof UuidKeyGenerationStrategy;
+    }
 }
@@ -1,10 +1,9 @@
 package persistence.sql.dml.query;
 
+import persistence.sql.JavaType;
+
 public interface BaseQueryBuilder {
     default String getQuoted(Object value) {
-        if (value instanceof String) {
-            return "'" + value + "'";
-        }
-        return value.toString();
+        return JavaType.literal(value);
     }
 }
@@ -1,6 +1,6 @@
 package persistence.sql.dml.query;
 
-public class DeleteQueryBuilder {
+public class DeleteQueryBuilder implements BaseQueryBuilder {
 
     public String build(String tableName,
                         String idColumnName,
@@ -11,6 +11,6 @@ public class DeleteQueryBuilder {
                 " WHERE " +
                 idColumnName +
                 " = " +
-                idValue + ";";
+                getQuoted(idValue) + ";";
     }
 }
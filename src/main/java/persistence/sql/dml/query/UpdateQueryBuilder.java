@@ -41,7 +41,7 @@ public class UpdateQueryBuilder implements BaseQueryBuilder {
         query.append(" WHERE ");
         query.append(identifierKey)
                 .append(" = ")
-                .append(identifierValue)
+                .append(getQuoted(identifierValue))
                 .append(";");
     }
 }
@@ -0,0 +1,8 @@
+package persistence.stat;
+
+public record FetchSuggestion(String association,
+                              long collectionLoads,
+                              long ownerLoads,
+                              int batchSize,
+                              boolean joinFetch) {
+}
@@ -0,0 +1,145 @@
+package persistence.stat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class NPlusOneDetector {
+    private static final Logger logger = LoggerFactory.getLogger(NPlusOneDetector.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final List<String> FRAMEWORK_PACKAGES = List.of(
+            "jdbc.", "persistence.entity.", "persistence.event.", "persistence.proxy.",
+            "java.", "jdk.", "com.sun.proxy."
+    );
+    // user code may live beside these, so only the classes that sit on the load path are skipped
+    private static final Set<String> FRAMEWORK_CLASSES = Set.of(
+            "persistence.session.SessionImpl",
+            "persistence.session.SessionFactoryImpl",
+            "persistence.session.ScopedCurrentSessionContext",
+            "persistence.session.ScopedCarrier",
+            "persistence.session.ThreadLocalCurrentSessionContext",
+            "persistence.stat.NPlusOneDetector"
+    );
+    private static final int MAX_BATCH_SIZE = 64;
+    // a join fetch pays off once most loaded owners end up initializing the collection
+    private static final double JOIN_FETCH_RATIO = 0.8;
+
+    public enum Reaction {
+        LOG,
+        EXCEPTION
+    }
+
+    private final int threshold;
+    private final Reaction reaction;
+    private final Map<String, Integer> statementCounts;
+    private final Map<String, Long> entityLoads;
+    private final Map<String, Long> collectionLoads;
+    private final Map<String, String> collectionOwners;
+
+    public NPlusOneDetector(int threshold, Reaction reaction) {
+        this.threshold = threshold;
+        this.reaction = reaction;
+        this.statementCounts = new HashMap<>();
+        this.entityLoads = new HashMap<>();
+        this.collectionLoads = new LinkedHashMap<>();
+        this.collectionOwners = new HashMap<>();
+    }
+
+    public static NPlusOneDetector disabled() {
+        return new NPlusOneDetector(0, Reaction.LOG);
+    }
+
+    public boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    public void onEntityLoad(Class<?> entityClass, String sql) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        entityLoads.merge(entityClass.getName(), 1L, Long::sum);
+        inspect(entityClass.getName(), sql);
+    }
+
+    public void onCollectionLoad(Class<?> ownerClass, String fieldName, String sql) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final String association = ownerClass.getName() + "." + fieldName;
+        collectionLoads.merge(association, 1L, Long::sum);
+        collectionOwners.putIfAbsent(association, ownerClass.getName());
+        inspect(association, sql);
+    }
+
+    private void inspect(String role, String sql) {
+        final String fingerprint = fingerprint(sql);
+        final int count = statementCounts.merge(fingerprint, 1, Integer::sum);
+        if (count != threshold + 1) {
+            return;
+        }
+
+        final String message = "N+1 select detected for %s: the same statement ran more than %d times, called from %s: %s"
+                .formatted(role, threshold, findCallSite(), fingerprint);
+        if (reaction == Reaction.EXCEPTION) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    static String fingerprint(String sql) {
+        final String withoutStrings = STRING_LITERAL.matcher(sql).replaceAll("?");
+        return NUMBER_LITERAL.matcher(withoutStrings).replaceAll("?");
+    }
+
+    private static String findCallSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !isFrameworkClass(frame.getClassName()))
+                .findFirst()
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .map(StackTraceElement::toString)
+                .orElse("unknown"));
+    }
+
+    // nested classes and lambdas count as the class that declares them
+    static boolean isFrameworkClass(String className) {
+        if (FRAMEWORK_PACKAGES.stream().anyMatch(className::startsWith)) {
+            return true;
+        }
+        final int nested = className.indexOf('$');
+        return FRAMEWORK_CLASSES.contains(nested < 0 ? className : className.substring(0, nested));
+    }
+
+    public Map<String, Long> getCollectionLoadCounts() {
+        return Map.copyOf(collectionLoads);
+    }
+
+    public List<FetchSuggestion> getFetchSuggestions() {
+        final List<FetchSuggestion> suggestions = new ArrayList<>();
+        collectionLoads.forEach((association, loads) -> {
+            if (loads <= threshold) {
+                return;
+            }
+
+            final long ownerLoads = entityLoads.getOrDefault(collectionOwners.get(association), 0L);
+            final boolean joinFetch = ownerLoads > 0 && loads >= ownerLoads * JOIN_FETCH_RATIO;
+            suggestions.add(new FetchSuggestion(association, loads, ownerLoads, batchSizeFor(loads), joinFetch));
+        });
+        return suggestions;
+    }
+
+    private static int batchSizeFor(long loads) {
+        final long batchSize = Long.highestOneBit(loads - 1) << 1;
+        return (int) Math.min(Math.max(batchSize, 2), MAX_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,46 @@
+package persistence.stat;
+
+import java.util.Set;
+
+public interface Statistics {
+
+    boolean isStatisticsEnabled();
+
+    void setStatisticsEnabled(boolean enabled);
+
+    void clear();
+
+    long getSessionOpenCount();
+
+    long getSessionCloseCount();
+
+    long getPrepareStatementCount();
+
+    long getExecuteStatementCount();
+
+    long getEntityLoadCount();
+
+    long getEntityInsertCount();
+
+    long getEntityUpdateCount();
+
+    long getEntityDeleteCount();
+
+    long getCollectionInitializeCount();
+
+    long getFlushCount();
+
+    long getCacheHitCount();
+
+    long getCacheMissCount();
+
+    long getCachePutCount();
+
+    Set<String> getEntityNames();
+
+    TimingHistogram getEntityLoadTiming(String entityName);
+
+    Set<String> getQueries();
+
+    TimingHistogram getQueryTiming(String sql);
+}
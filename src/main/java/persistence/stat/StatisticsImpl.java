@@ -0,0 +1,245 @@
+package persistence.stat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StatisticsImpl implements Statistics {
+    // SQL text carries literal values, so the per-query map is bounded
+    private static final int MAX_TRACKED_QUERIES = 1_000;
+
+    private volatile boolean enabled;
+
+    private final LongAdder sessionOpenCount = new LongAdder();
+    private final LongAdder sessionCloseCount = new LongAdder();
+    private final LongAdder prepareStatementCount = new LongAdder();
+    private final LongAdder executeStatementCount = new LongAdder();
+    private final LongAdder entityLoadCount = new LongAdder();
+    private final LongAdder entityInsertCount = new LongAdder();
+    private final LongAdder entityUpdateCount = new LongAdder();
+    private final LongAdder entityDeleteCount = new LongAdder();
+    private final LongAdder collectionInitializeCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder cacheMissCount = new LongAdder();
+    private final LongAdder cachePutCount = new LongAdder();
+
+    private final Map<String, TimingHistogram> entityLoadTimings = new ConcurrentHashMap<>();
+    private final Map<String, TimingHistogram> queryTimings = new ConcurrentHashMap<>();
+
+    public StatisticsImpl() {
+        this(false);
+    }
+
+    public StatisticsImpl(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isStatisticsEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void clear() {
+        sessionOpenCount.reset();
+        sessionCloseCount.reset();
+        prepareStatementCount.reset();
+        executeStatementCount.reset();
+        entityLoadCount.reset();
+        entityInsertCount.reset();
+        entityUpdateCount.reset();
+        entityDeleteCount.reset();
+        collectionInitializeCount.reset();
+        flushCount.reset();
+        cacheHitCount.reset();
+        cacheMissCount.reset();
+        cachePutCount.reset();
+        entityLoadTimings.clear();
+        queryTimings.clear();
+    }
+
+    public void openSession() {
+        if (enabled) {
+            sessionOpenCount.increment();
+        }
+    }
+
+    public void closeSession() {
+        if (enabled) {
+            sessionCloseCount.increment();
+        }
+    }
+
+    public void prepareStatement() {
+        if (enabled) {
+            prepareStatementCount.increment();
+        }
+    }
+
+    public void executeStatement(String sql, long nanos) {
+        if (!enabled) {
+            return;
+        }
+
+        executeStatementCount.increment();
+        // literals are inlined into the sql, without stripping them every id would take its own slot
+        final String query = NPlusOneDetector.fingerprint(sql);
+        final TimingHistogram histogram = queryTimings.get(query);
+        if (histogram != null) {
+            histogram.record(nanos);
+            return;
+        }
+        if (queryTimings.size() < MAX_TRACKED_QUERIES) {
+            queryTimings.computeIfAbsent(query, key -> new TimingHistogram()).record(nanos);
+        }
+    }
+
+    public void loadEntity(String entityName, long nanos) {
+        if (!enabled) {
+            return;
+        }
+
+        entityLoadCount.increment();
+        entityLoadTimings.computeIfAbsent(entityName, key -> new TimingHistogram()).record(nanos);
+    }
+
+    public void insertEntity() {
+        if (enabled) {
+            entityInsertCount.increment();
+        }
+    }
+
+    public void updateEntity() {
+        if (enabled) {
+            entityUpdateCount.increment();
+        }
+    }
+
+    public void deleteEntity() {
+        if (enabled) {
+            entityDeleteCount.increment();
+        }
+    }
+
+    public void initializeCollection() {
+        if (enabled) {
+            collectionInitializeCount.increment();
+        }
+    }
+
+    public void flush() {
+        if (enabled) {
+            flushCount.increment();
+        }
+    }
+
+    public void cacheHit() {
+        if (enabled) {
+            cacheHitCount.increment();
+        }
+    }
+
+    public void cacheMiss() {
+        if (enabled) {
+            cacheMissCount.increment();
+        }
+    }
+
+    public void cachePut() {
+        if (enabled) {
+            cachePutCount.increment();
+        }
+    }
+
+    @Override
+    public long getSessionOpenCount() {
+        return sessionOpenCount.sum();
+    }
+
+    @Override
+    public long getSessionCloseCount() {
+        return sessionCloseCount.sum();
+    }
+
+    @Override
+    public long getPrepareStatementCount() {
+        return prepareStatementCount.sum();
+    }
+
+    @Override
+    public long getExecuteStatementCount() {
+        return executeStatementCount.sum();
+    }
+
+    @Override
+    public long getEntityLoadCount() {
+        return entityLoadCount.sum();
+    }
+
+    @Override
+    public long getEntityInsertCount() {
+        return entityInsertCount.sum();
+    }
+
+    @Override
+    public long getEntityUpdateCount() {
+        return entityUpdateCount.sum();
+    }
+
+    @Override
+    public long getEntityDeleteCount() {
+        return entityDeleteCount.sum();
+    }
+
+    @Override
+    public long getCollectionInitializeCount() {
+        return collectionInitializeCount.sum();
+    }
+
+    @Override
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    @Override
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    @Override
+    public long getCacheMissCount() {
+        return cacheMissCount.sum();
+    }
+
+    @Override
+    public long getCachePutCount() {
+        return cachePutCount.sum();
+    }
+
+    @Override
+    public Set<String> getEntityNames() {
+        return Set.copyOf(entityLoadTimings.keySet());
+    }
+
+    @Override
+    public TimingHistogram getEntityLoadTiming(String entityName) {
+        return entityLoadTimings.get(entityName);
+    }
+
+    @Override
+    public Set<String> getQueries() {
+        return Set.copyOf(queryTimings.keySet());
+    }
+
+    @Override
+    public TimingHistogram getQueryTiming(String sql) {
+        return queryTimings.get(NPlusOneDetector.fingerprint(sql));
+    }
+}
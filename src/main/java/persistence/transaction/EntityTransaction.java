@@ -0,0 +1,24 @@
+package persistence.transaction;
+
+import java.sql.Savepoint;
+
+public interface EntityTransaction {
+
+    void begin();
+
+    void commit();
+
+    void rollback();
+
+    Savepoint setSavepoint(String name);
+
+    void rollbackToSavepoint(Savepoint savepoint);
+
+    void releaseSavepoint(Savepoint savepoint);
+
+    void setRollbackOnly();
+
+    boolean getRollbackOnly();
+
+    boolean isActive();
+}
@@ -0,0 +1,126 @@
+package persistence.transaction;
+
+import jdbc.JdbcTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import persistence.event.EventSource;
+
+import java.sql.Savepoint;
+
+public class JdbcTransaction implements EntityTransaction {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTransaction.class);
+
+    private final EventSource source;
+    private final JdbcTemplate jdbcTemplate;
+
+    private boolean active;
+    private boolean rollbackOnly;
+
+    public JdbcTransaction(EventSource source, JdbcTemplate jdbcTemplate) {
+        this.source = source;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void begin() {
+        check(active, "Transaction already active");
+
+        jdbcTemplate.setAutoCommit(false);
+        source.getActionQueue().beginTransaction();
+        active = true;
+        rollbackOnly = false;
+
+        logger.debug("Transaction has begun.");
+    }
+
+    @Override
+    public void commit() {
+        check(!active, "Transaction not active");
+
+        if (rollbackOnly) {
+            rollback();
+            throw new IllegalStateException("Transaction marked for rollback only");
+        }
+
+        try {
+            // one flush and one commit for the whole unit of work
+            source.flush();
+            jdbcTemplate.commit();
+        } catch (RuntimeException e) {
+            rollback();
+            throw e;
+        }
+
+        end();
+        logger.debug("Transaction has been committed.");
+    }
+
+    @Override
+    public void rollback() {
+        check(!active, "Transaction not active");
+
+        try {
+            // pending actions and managed state belong to the discarded unit of work
+            source.clear();
+            jdbcTemplate.rollback();
+        } finally {
+            end();
+        }
+
+        logger.debug("Transaction has been rolled back.");
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) {
+        check(!active, "Transaction not active");
+
+        source.flush();
+        return jdbcTemplate.setSavepoint(name);
+    }
+
+    @Override
+    public void rollbackToSavepoint(Savepoint savepoint) {
+        check(!active, "Transaction not active");
+
+        source.clear();
+        jdbcTemplate.rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) {
+        check(!active, "Transaction not active");
+
+        jdbcTemplate.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        check(!active, "Transaction not active");
+
+        rollbackOnly = true;
+    }
+
+    @Override
+    public boolean getRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+
+    private void end() {
+        active = false;
+        rollbackOnly = false;
+        jdbcTemplate.setAutoCommit(true);
+        source.getActionQueue().afterTransactionCompletion();
+    }
+
+    private void check(boolean condition, String reason) {
+        if (condition) {
+            throw new IllegalStateException(reason);
+        }
+    }
+}
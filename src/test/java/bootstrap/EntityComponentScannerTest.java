@@ -1,13 +1,25 @@
 package bootstrap;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 public class EntityComponentScannerTest {
+    private static final String PACKAGE_PATH = "bootstrap/scantest/testpackage/subpackage/";
+    private static final List<String> CLASS_NAMES = List.of("SimpleTestEntity", "SimpleTestPlainObject");
 
     @Test
     void testScanEntities() throws Exception {
@@ -58,4 +70,90 @@ public class EntityComponentScannerTest {
                 () -> assertThat(classes.get(0).getSimpleName()).isEqualTo("SimpleTestEntity")
         );
     }
+
+    @Test
+    void testScanEntitiesInJar(@TempDir Path tempDir) throws Exception {
+        Path jar = writeJar(tempDir.resolve("entities.jar"));
+
+        try (URLClassLoader jarOnly = onlyListing(jar.toUri().toURL())) {
+            List<Class<?>> classes = scanWith(jarOnly);
+
+            assertAll(
+                    () -> assertThat(classes).hasSize(1),
+                    () -> assertThat(classes.get(0).getSimpleName()).isEqualTo("SimpleTestEntity")
+            );
+        }
+    }
+
+    @Test
+    void testScanEntitiesInDirectoryWithSpaces(@TempDir Path tempDir) throws Exception {
+        Path classesDir = tempDir.resolve("entity classes");
+        Files.createDirectories(classesDir.resolve(PACKAGE_PATH));
+        for (String className : CLASS_NAMES) {
+            try (InputStream input = getClass().getClassLoader().getResourceAsStream(PACKAGE_PATH + className + ".class")) {
+                Files.copy(input, classesDir.resolve(PACKAGE_PATH + className + ".class"));
+            }
+        }
+
+        try (URLClassLoader directoryOnly = onlyListing(classesDir.toUri().toURL())) {
+            List<Class<?>> classes = scanWith(directoryOnly);
+
+            assertAll(
+                    () -> assertThat(classes).hasSize(1),
+                    () -> assertThat(classes.get(0).getSimpleName()).isEqualTo("SimpleTestEntity")
+            );
+        }
+    }
+
+    @Test
+    void testScanEntitiesInJarWithSpaces(@TempDir Path tempDir) throws Exception {
+        Path jar = writeJar(Files.createDirectories(tempDir.resolve("entity jars")).resolve("entities.jar"));
+
+        try (URLClassLoader jarOnly = onlyListing(jar.toUri().toURL())) {
+            List<Class<?>> classes = scanWith(jarOnly);
+
+            assertAll(
+                    () -> assertThat(classes).hasSize(1),
+                    () -> assertThat(classes.get(0).getSimpleName()).isEqualTo("SimpleTestEntity")
+            );
+        }
+    }
+
+    // the class loader finds a package in a jar only through its directory entries
+    private Path writeJar(Path jar) throws IOException {
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            String directory = "";
+            for (String segment : PACKAGE_PATH.split("/")) {
+                directory += segment + "/";
+                output.putNextEntry(new JarEntry(directory));
+                output.closeEntry();
+            }
+            for (String className : CLASS_NAMES) {
+                output.putNextEntry(new JarEntry(PACKAGE_PATH + className + ".class"));
+                try (InputStream input = getClass().getClassLoader().getResourceAsStream(PACKAGE_PATH + className + ".class")) {
+                    input.transferTo(output);
+                }
+                output.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    // only the given root is listed, classes still resolve through the test class loader
+    private URLClassLoader onlyListing(URL root) {
+        return new URLClassLoader(new URL[]{root}, getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return findResources(name);
+            }
+        };
+    }
+
+    private static List<Class<?>> scanWith(ClassLoader classLoader) throws ClassNotFoundException {
+        EntityComponentScanner scanner = new EntityComponentScanner(
+                new FileSystemExplorer(classLoader),
+                new ClassFileProcessor(classLoader)
+        );
+        return scanner.scan("bootstrap.scantest");
+    }
 }
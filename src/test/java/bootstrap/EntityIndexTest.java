@@ -0,0 +1,65 @@
+package bootstrap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityIndexTest {
+
+    @TempDir
+    Path classesDir;
+
+    @Test
+    @DisplayName("인덱스에 기록된 클래스 중 패키지에 속한 것만 불러온다.")
+    void loadIndexedEntities() throws Exception {
+        Path index = classesDir.resolve(EntityIndex.INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, """
+                bootstrap.scantest.testpackage.subpackage.SimpleTestEntity
+                other.Missing
+                """);
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+            Optional<List<Class<?>>> entityClasses = new EntityIndex(classLoader).load("bootstrap.scantest");
+
+            assertThat(entityClasses).isPresent();
+            assertThat(entityClasses.get()).hasSize(1);
+            assertThat(entityClasses.get().get(0).getSimpleName()).isEqualTo("SimpleTestEntity");
+        }
+    }
+
+    @Test
+    @DisplayName("인덱스가 없으면 비어 있는 결과를 돌려준다.")
+    void missingIndex() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[]{classesDir.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+            assertThat(new EntityIndex(classLoader).load("bootstrap.scantest")).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("다른 패키지의 인덱스만 있으면 비어 있는 결과를 돌려준다.")
+    void foreignIndex() throws Exception {
+        Path index = classesDir.resolve(EntityIndex.INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, """
+                com.example.dependency.Customer
+                com.example.dependency.Invoice
+                """);
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+            assertThat(new EntityIndex(classLoader).load("bootstrap.scantest")).isEmpty();
+        }
+    }
+}
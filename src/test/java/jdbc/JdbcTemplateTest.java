@@ -0,0 +1,153 @@
+package jdbc;
+
+import database.ConnectionPool;
+import database.DatabaseServer;
+import database.H2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.stat.NPlusOneDetector;
+import persistence.stat.StatisticsImpl;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class JdbcTemplateTest {
+
+    private CountingDatabaseServer server;
+    private ConnectionPool connectionPool;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        server = new CountingDatabaseServer(new H2());
+        server.start();
+        connectionPool = new ConnectionPool(server);
+        jdbcTemplate = new JdbcTemplate(connectionPool, new StatisticsImpl(), NPlusOneDetector.disabled());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.close();
+        connectionPool.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("커넥션은 첫 SQL을 실행할 때 가져오고 autocommit 모드에서는 실행 직후 반납한다.")
+    void acquireLazilyAndReleaseAfterStatement() {
+        int openedBeforeSql = server.opened;
+
+        jdbcTemplate.query("SELECT 1", resultSet -> resultSet.getInt(1));
+        boolean heldAfterFirst = jdbcTemplate.hasConnection();
+        jdbcTemplate.query("SELECT 1", resultSet -> resultSet.getInt(1));
+
+        assertAll(
+                () -> assertThat(openedBeforeSql).isZero(),
+                () -> assertThat(heldAfterFirst).isFalse(),
+                () -> assertThat(server.opened).isEqualTo(1),
+                () -> assertThat(connectionPool.getIdleCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("트랜잭션 동안에는 커넥션을 유지하고 트랜잭션이 끝나면 반납한다.")
+    void holdDuringTransaction() {
+        jdbcTemplate.setAutoCommit(false);
+        jdbcTemplate.query("SELECT 1", resultSet -> resultSet.getInt(1));
+        jdbcTemplate.query("SELECT 1", resultSet -> resultSet.getInt(1));
+        boolean heldInTransaction = jdbcTemplate.hasConnection();
+
+        jdbcTemplate.commit();
+        jdbcTemplate.setAutoCommit(true);
+
+        assertAll(
+                () -> assertThat(heldInTransaction).isTrue(),
+                () -> assertThat(jdbcTemplate.hasConnection()).isFalse(),
+                () -> assertThat(server.opened).isEqualTo(1),
+                () -> assertThat(connectionPool.getIdleCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("SQL을 실행하지 않은 트랜잭션은 커넥션을 가져오지 않는다.")
+    void emptyTransaction() {
+        jdbcTemplate.setAutoCommit(false);
+        jdbcTemplate.commit();
+        jdbcTemplate.setAutoCommit(true);
+
+        assertThat(server.opened).isZero();
+    }
+
+    @Test
+    @DisplayName("메타데이터를 읽는 동안에는 커넥션을 유지하고 다 읽은 뒤 반납한다.")
+    void holdWhileReadingMetaData() {
+        boolean heldWhileReading = jdbcTemplate.readMetaData((metaData, schema) -> {
+            try (ResultSet resultSet = metaData.getTables(null, schema, "%", null)) {
+                resultSet.next();
+            }
+            return jdbcTemplate.hasConnection();
+        });
+
+        assertAll(
+                () -> assertThat(heldWhileReading).isTrue(),
+                () -> assertThat(jdbcTemplate.hasConnection()).isFalse(),
+                () -> assertThat(connectionPool.getIdleCount()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("빌려간 커넥션이 최대 개수에 이르면 반납될 때까지 기다리다 시간이 지나면 예외가 발생한다.")
+    void capBorrowedConnections() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(server, 1, 1, Duration.ofMillis(50))) {
+            Connection borrowed = pool.getConnection();
+
+            assertThatThrownBy(pool::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("all 1 are in use");
+
+            pool.closeConnection(borrowed);
+            Connection reused = pool.getConnection();
+
+            assertAll(
+                    () -> assertThat(reused).isSameAs(borrowed),
+                    () -> assertThat(pool.getActiveCount()).isEqualTo(1),
+                    () -> assertThat(server.opened).isEqualTo(1)
+            );
+            pool.closeConnection(reused);
+        }
+    }
+
+    private static class CountingDatabaseServer implements DatabaseServer {
+        private final DatabaseServer delegate;
+        private int opened;
+
+        CountingDatabaseServer(DatabaseServer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void start() throws SQLException {
+            delegate.start();
+        }
+
+        @Override
+        public void stop() {
+            delegate.stop();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            opened++;
+            return delegate.getConnection();
+        }
+    }
+}
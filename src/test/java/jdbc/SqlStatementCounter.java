@@ -0,0 +1,58 @@
+package jdbc;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// forked templates share this counter across threads
+public class SqlStatementCounter implements StatementInspector {
+    private final AtomicInteger selectCount = new AtomicInteger();
+    private final AtomicInteger insertCount = new AtomicInteger();
+    private final AtomicInteger updateCount = new AtomicInteger();
+    private final AtomicInteger deleteCount = new AtomicInteger();
+    private final AtomicInteger otherCount = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        final String statement = sql.stripLeading().toUpperCase(Locale.ROOT);
+        if (statement.startsWith("SELECT")) {
+            selectCount.incrementAndGet();
+        } else if (statement.startsWith("INSERT")) {
+            insertCount.incrementAndGet();
+        } else if (statement.startsWith("UPDATE")) {
+            updateCount.incrementAndGet();
+        } else if (statement.startsWith("DELETE")) {
+            deleteCount.incrementAndGet();
+        } else {
+            otherCount.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public int getSelectCount() {
+        return selectCount.get();
+    }
+
+    public int getInsertCount() {
+        return insertCount.get();
+    }
+
+    public int getUpdateCount() {
+        return updateCount.get();
+    }
+
+    public int getDeleteCount() {
+        return deleteCount.get();
+    }
+
+    public int getTotalCount() {
+        return selectCount.get() + insertCount.get() + updateCount.get() + deleteCount.get() + otherCount.get();
+    }
+
+    public void clear() {
+        selectCount.set(0);
+        insertCount.set(0);
+        updateCount.set(0);
+        deleteCount.set(0);
+        otherCount.set(0);
+    }
+}
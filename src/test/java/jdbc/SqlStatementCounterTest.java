@@ -0,0 +1,78 @@
+package jdbc;
+
+import database.DatabaseServer;
+import database.H2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.event.EventSource;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaManagementToolCoordinator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class SqlStatementCounterTest {
+
+    private DatabaseServer server;
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        entityManagerFactory = metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        entityManagerFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("자식 하나를 가진 엔티티 저장은 3개 이하의 쿼리로 끝난다.")
+    void persistWithCollection() throws Exception {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        SqlStatementCounter counter = new SqlStatementCounter();
+        source.addStatementInspector(counter);
+
+        TestLazyOrder order = new TestLazyOrder("order");
+        order.getOrderItems().add(new TestLazyOrderItem("product", 1));
+        source.persist(order);
+        source.flush();
+
+        assertAll(
+                () -> assertThat(counter.getInsertCount()).isEqualTo(2),
+                () -> assertThat(counter.getUpdateCount()).isEqualTo(1),
+                () -> assertThat(counter.getTotalCount()).isLessThanOrEqualTo(3)
+        );
+    }
+
+    @Test
+    @DisplayName("영속성 컨텍스트에 있는 엔티티 조회는 쿼리를 보내지 않는다.")
+    void findManagedEntity() throws Exception {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        TestLazyOrder order = new TestLazyOrder("order");
+        source.persist(order);
+
+        SqlStatementCounter counter = new SqlStatementCounter();
+        source.addStatementInspector(counter);
+        source.find(TestLazyOrder.class, order.getId());
+        source.clear();
+        source.find(TestLazyOrder.class, order.getId());
+
+        assertAll(
+                () -> assertThat(counter.getSelectCount()).isEqualTo(1),
+                () -> assertThat(counter.getTotalCount()).isEqualTo(1)
+        );
+    }
+}
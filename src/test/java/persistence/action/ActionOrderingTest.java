@@ -0,0 +1,44 @@
+package persistence.action;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.SimplePerson;
+import persistence.fixtures.TestEagerOrder;
+import persistence.fixtures.TestEagerOrderItem;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.sql.definition.TableDefinition;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ActionOrderingTest {
+
+    @Test
+    @DisplayName("연관관계의 부모 엔티티가 자식 엔티티보다 먼저 정렬된다.")
+    void parentsBeforeChildren() {
+        ActionOrdering ordering = new ActionOrdering(List.of(
+                new TableDefinition(TestEagerOrderItem.class),
+                new TableDefinition(TestLazyOrderItem.class),
+                new TableDefinition(TestEagerOrder.class),
+                new TableDefinition(TestLazyOrder.class)
+        ));
+
+        assertAll(
+                () -> assertThat(ordering.rankOf(TestEagerOrder.class))
+                        .isLessThan(ordering.rankOf(TestEagerOrderItem.class)),
+                () -> assertThat(ordering.rankOf(TestLazyOrder.class))
+                        .isLessThan(ordering.rankOf(TestLazyOrderItem.class))
+        );
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 엔티티는 가장 마지막으로 정렬된다.")
+    void unknownEntityLast() {
+        ActionOrdering ordering = new ActionOrdering(List.of(new TableDefinition(TestEagerOrder.class)));
+
+        assertThat(ordering.rankOf(SimplePerson.class)).isEqualTo(Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,295 @@
+package persistence.action;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.entity.CollectionPersister;
+import persistence.entity.EntityEntry;
+import persistence.entity.EntityPersister;
+import persistence.event.EventSource;
+import persistence.fixtures.SimplePerson;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.fixtures.UuidPerson;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaManagementToolCoordinator;
+import persistence.sql.definition.TableAssociationDefinition;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ActionQueueTest {
+
+    private static DatabaseServer server;
+    private static EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        entityManagerFactory = metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        entityManagerFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("같은 엔티티의 update 는 마지막 상태 하나로 합쳐진다.")
+    void collapseUpdates() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        SimplePerson person = new SimplePerson("John");
+        source.persist(person);
+
+        person.setName("Jane");
+        source.merge(person);
+        person.setName("Jack");
+        source.merge(person);
+        int updates = source.getActionQueue().numberOfUpdates();
+        source.flush();
+
+        assertAll(
+                () -> assertThat(updates).isEqualTo(1),
+                () -> assertThat(findNames()).containsExactly("Jack")
+        );
+    }
+
+    @Test
+    @DisplayName("대기중인 insert 에 대한 update 는 insert 에 합쳐진다.")
+    void foldUpdateIntoInsert() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        ActionQueue actionQueue = source.getActionQueue();
+        SimplePerson person = new SimplePerson("John");
+        actionQueue.addAction(pendingInsertion(source, person));
+
+        person.setName("Jane");
+        actionQueue.addAction(new EntityUpdateAction(person, source.findEntityPersister(SimplePerson.class)));
+        int updates = actionQueue.numberOfUpdates();
+        actionQueue.executeAll();
+
+        assertAll(
+                () -> assertThat(updates).isZero(),
+                () -> assertThat(findNames()).containsExactly("Jane")
+        );
+    }
+
+    @Test
+    @DisplayName("대기중인 insert 와 delete 는 서로 상쇄된다.")
+    void cancelInsertAndDelete() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        ActionQueue actionQueue = source.getActionQueue();
+        SimplePerson person = new SimplePerson("John");
+        actionQueue.addAction(pendingInsertion(source, person));
+
+        actionQueue.addAction(new EntityDeleteAction(source, person, source.findEntityPersister(SimplePerson.class)));
+        actionQueue.executeAll();
+
+        assertAll(
+                () -> assertThat(actionQueue.numberOfInsertions()).isZero(),
+                () -> assertThat(actionQueue.numberOfDeletions()).isZero(),
+                () -> assertThat(findNames()).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("insert 가 취소되면 그 엔티티의 컬렉션 insert 만 함께 취소된다.")
+    void cancelCollectionInsertionsOfParent() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        ActionQueue actionQueue = source.getActionQueue();
+        EntityPersister persister = source.findEntityPersister(TestLazyOrder.class);
+        TableAssociationDefinition association = persister.getCollectionAssociations().get(0);
+        CollectionPersister collectionPersister = source.findCollectionPersister(association);
+        TestLazyOrder cancelled = new TestLazyOrder("cancelled");
+        TestLazyOrder kept = new TestLazyOrder("kept");
+
+        for (TestLazyOrder order : List.of(cancelled, kept)) {
+            actionQueue.addAction(pendingInsertion(source, order));
+            actionQueue.addAction(new EntityCollectionInsertAction(source, order, collectionPersister, association));
+        }
+        actionQueue.addAction(new EntityDeleteAction(source, cancelled, persister));
+
+        assertAll(
+                () -> assertThat(actionQueue.numberOfInsertions()).isEqualTo(1),
+                () -> assertThat(actionQueue.numberOfCollectionInsertions()).isEqualTo(1),
+                () -> assertThat(actionQueue.findInsertion(cancelled)).isNull(),
+                () -> assertThat(actionQueue.findInsertion(kept)).isNotNull()
+        );
+    }
+
+    @Test
+    @DisplayName("delete 가 대기중이면 같은 엔티티의 update 는 버려진다.")
+    void deleteSupersedesUpdate() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        SimplePerson person = new SimplePerson("John");
+        source.persist(person);
+
+        person.setName("Jane");
+        source.merge(person);
+        source.remove(person);
+        ActionQueue actionQueue = source.getActionQueue();
+
+        assertAll(
+                () -> assertThat(actionQueue.numberOfUpdates()).isZero(),
+                () -> assertThat(actionQueue.numberOfDeletions()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("실행된 insert 는 대기중인 insert 목록에서 빠진다.")
+    void resolveExecutedInsertion() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        ActionQueue actionQueue = source.getActionQueue();
+        SimplePerson person = new SimplePerson("John");
+        EntityInsertAction insertion = pendingInsertion(source, person);
+        actionQueue.addAction(insertion);
+
+        EntityInsertAction beforeFlush = actionQueue.findInsertion(person);
+        actionQueue.executeAll();
+
+        assertAll(
+                () -> assertThat(beforeFlush).isSameAs(insertion),
+                () -> assertThat(actionQueue.findInsertion(person)).isNull(),
+                () -> assertThat(actionQueue.numberOfInsertions()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("UUID 식별자는 persist 시점에 할당되고 insert 는 flush 때 한 번의 배치로 실행된다.")
+    void batchClientGeneratedInsertions() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        UuidPerson john = new UuidPerson("John");
+        UuidPerson jane = new UuidPerson("Jane");
+        source.persist(john);
+        source.persist(jane);
+        source.persist(john);
+
+        UUID idBeforeFlush = john.getId();
+        int insertions = source.getActionQueue().numberOfInsertions();
+        List<String> namesBeforeFlush = findUuidPersonNames();
+        long statements = source.getStatistics().getPrepareStatementCount();
+        source.flush();
+
+        assertAll(
+                () -> assertThat(idBeforeFlush).isNotNull(),
+                () -> assertThat(jane.getId()).isGreaterThan(john.getId()),
+                () -> assertThat(insertions).isEqualTo(2),
+                () -> assertThat(namesBeforeFlush).isEmpty(),
+                () -> assertThat(source.getStatistics().getPrepareStatementCount() - statements).isEqualTo(1),
+                () -> assertThat(findUuidPersonNames()).containsExactlyInAnyOrder("John", "Jane"),
+                () -> assertThat(source.find(UuidPerson.class, john.getId())).isSameAs(john)
+        );
+    }
+
+    @Test
+    @DisplayName("UUID 식별자를 가진 엔티티는 식별자로 수정과 삭제가 된다.")
+    void updateAndDeleteByUuid() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        UuidPerson john = new UuidPerson("John");
+        UuidPerson jane = new UuidPerson("Jane");
+        source.persist(john);
+        source.persist(jane);
+        source.flush();
+
+        john.setName("Jack");
+        source.merge(john);
+        source.remove(jane);
+        source.flush();
+
+        assertThat(findUuidPersonNames()).containsExactly("Jack");
+    }
+
+    @Test
+    @DisplayName("부모 엔티티는 자식보다 먼저 insert 되고 자식보다 나중에 delete 된다.")
+    void parentsBeforeChildrenInQueue() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        ActionQueue actionQueue = source.getActionQueue();
+        List<String> statements = new ArrayList<>();
+        source.addStatementInspector(sql -> {
+            statements.add(sql);
+            return sql;
+        });
+        TestLazyOrderItem item = new TestLazyOrderItem("product", 1);
+        TestLazyOrder order = new TestLazyOrder("order");
+
+        actionQueue.addAction(pendingInsertion(source, item));
+        actionQueue.addAction(pendingInsertion(source, order));
+        actionQueue.executeAll();
+        List<String> insertions = List.copyOf(statements);
+
+        statements.clear();
+        actionQueue.addAction(new EntityDeleteAction(source, order, source.findEntityPersister(TestLazyOrder.class)));
+        actionQueue.addAction(new EntityDeleteAction(source, item, source.findEntityPersister(TestLazyOrderItem.class)));
+        actionQueue.executeAll();
+
+        assertAll(
+                () -> assertThat(insertions).hasSize(2),
+                () -> assertThat(insertions.get(0)).startsWith("INSERT INTO lazy_orders "),
+                () -> assertThat(insertions.get(1)).startsWith("INSERT INTO lazy_order_items "),
+                () -> assertThat(statements).hasSize(2),
+                () -> assertThat(statements.get(0)).startsWith("DELETE FROM lazy_order_items "),
+                () -> assertThat(statements.get(1)).startsWith("DELETE FROM lazy_orders ")
+        );
+    }
+
+    @Test
+    @DisplayName("flush 도중 실패하면 실행되지 않은 action 은 대기열에 남는다.")
+    void keepUnexecutedActionsOnFailure() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        ActionQueue actionQueue = source.getActionQueue();
+        source.addStatementInspector(sql -> {
+            if (sql.startsWith("INSERT INTO lazy_order_items ")) {
+                throw new IllegalStateException("failed");
+            }
+            return sql;
+        });
+        TestLazyOrder order = new TestLazyOrder("order");
+        TestLazyOrderItem item = new TestLazyOrderItem("product", 1);
+        actionQueue.addAction(pendingInsertion(source, item));
+        actionQueue.addAction(pendingInsertion(source, order));
+
+        assertThatThrownBy(actionQueue::executeAll).isInstanceOf(IllegalStateException.class);
+
+        assertAll(
+                () -> assertThat(actionQueue.numberOfInsertions()).isEqualTo(1),
+                () -> assertThat(actionQueue.findInsertion(order)).isNull(),
+                () -> assertThat(actionQueue.findInsertion(item)).isNotNull()
+        );
+    }
+
+    private EntityInsertAction pendingInsertion(EventSource source, Object entity) {
+        EntityPersister persister = source.findEntityPersister(entity.getClass());
+        return new EntityInsertAction(source, entity, persister, EntityEntry.inSaving()) {
+            @Override
+            public boolean isEarlyInsert() {
+                return false;
+            }
+        };
+    }
+
+    private List<String> findNames() throws SQLException {
+        return new JdbcTemplate(server.getConnection())
+                .query("SELECT name FROM SimplePerson", resultSet -> resultSet.getString("name"));
+    }
+
+    private List<String> findUuidPersonNames() throws SQLException {
+        return new JdbcTemplate(server.getConnection())
+                .query("SELECT name FROM UuidPerson", resultSet -> resultSet.getString("name"));
+    }
+}
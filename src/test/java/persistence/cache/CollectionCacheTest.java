@@ -0,0 +1,170 @@
+package persistence.cache;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import jdbc.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.entity.EntityKey;
+import persistence.entity.EntityPersister;
+import persistence.event.EventSource;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.SchemaManagementToolCoordinator;
+import persistence.session.SessionFactoryImpl;
+import persistence.transaction.EntityTransaction;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CollectionCacheTest {
+
+    private DatabaseServer server;
+    private SessionFactoryImpl sessionFactory;
+    private Long orderId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        sessionFactory = (SessionFactoryImpl) metadata.buildEntityManagerFactory();
+        sessionFactory.setCollectionCacheEnabled(true);
+
+        EventSource source = (EventSource) sessionFactory.openSession();
+        TestLazyOrder order = new TestLazyOrder("order");
+        TestLazyOrderItem item = new TestLazyOrderItem("product", 1);
+        order.getOrderItems().add(item);
+        source.persist(order);
+        source.flush();
+        source.close();
+        orderId = order.getId();
+        itemId = item.getId();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("캐시된 컬렉션은 쿼리 없이 초기화된다.")
+    void initializeFromCache() throws Exception {
+        loadItems();
+
+        EventSource source = (EventSource) sessionFactory.openSession();
+        SqlStatementCounter counter = new SqlStatementCounter();
+        source.addStatementInspector(counter);
+        List<TestLazyOrderItem> items = source.find(TestLazyOrder.class, orderId).getOrderItems();
+
+        assertAll(
+                () -> assertThat(items).hasSize(1),
+                () -> assertThat(items.get(0).getProduct()).isEqualTo("product"),
+                () -> assertThat(counter.getSelectCount()).isEqualTo(1)
+        );
+        source.close();
+    }
+
+    @Test
+    @DisplayName("자식이 삭제되면 캐시된 컬렉션을 버리고 다시 조회한다.")
+    void evictOnChildDelete() throws Exception {
+        loadItems();
+
+        EventSource source = (EventSource) sessionFactory.openSession();
+        source.remove(source.find(TestLazyOrderItem.class, itemId));
+        source.flush();
+        source.close();
+
+        assertThat(loadItems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 진행되는 동안 다른 세션이 캐시에 넣은 컬렉션은 커밋할 때 버린다.")
+    void evictOnCommitAfterConcurrentFill() throws Exception {
+        loadItems();
+
+        EventSource writer = (EventSource) sessionFactory.openSession();
+        EntityTransaction transaction = writer.getTransaction();
+        transaction.begin();
+        writer.remove(writer.find(TestLazyOrderItem.class, itemId));
+        writer.flush();
+
+        List<TestLazyOrderItem> beforeCommit = loadItems();
+        transaction.commit();
+        writer.close();
+
+        assertAll(
+                () -> assertThat(beforeCommit).hasSize(1),
+                () -> assertThat(loadItems()).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("조회 중에 테이블이 변경되면 조회한 컬렉션을 캐시에 넣지 않는다.")
+    void skipPutAfterConcurrentWrite() throws Exception {
+        UpdateTimestampsCache updateTimestamps = new UpdateTimestampsCache();
+        CollectionCache collectionCache = new CollectionCache(updateTimestamps);
+        collectionCache.setEnabled(true);
+        EntityPersister elementPersister = elementPersister();
+        List<TestLazyOrderItem> items = loadItems();
+
+        long timestamp = collectionCache.timestamp();
+        updateTimestamps.invalidate(Set.of("lazy_order_items"));
+        boolean put = collectionCache.put(new EntityKey(orderId, TestLazyOrder.class), "orderItems",
+                elementPersister, items, Set.of("lazy_orders", "lazy_order_items"), timestamp);
+
+        assertAll(
+                () -> assertThat(put).isFalse(),
+                () -> assertThat(collectionCache.size()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("자식이 변경되면 그 자식을 담은 컬렉션만 버린다.")
+    void evictOnlyCollectionsHoldingElement() throws Exception {
+        CollectionCache collectionCache = new CollectionCache();
+        collectionCache.setEnabled(true);
+        EntityPersister elementPersister = elementPersister();
+        List<TestLazyOrderItem> items = loadItems();
+        Set<String> spaces = Set.of("lazy_orders", "lazy_order_items");
+
+        collectionCache.put(new EntityKey(orderId, TestLazyOrder.class), "orderItems",
+                elementPersister, items, spaces, collectionCache.timestamp());
+        collectionCache.put(new EntityKey(orderId + 1, TestLazyOrder.class), "orderItems",
+                elementPersister, List.of(), spaces, collectionCache.timestamp());
+        collectionCache.evictElement(new EntityKey(itemId, TestLazyOrderItem.class));
+
+        assertAll(
+                () -> assertThat(collectionCache.size()).isEqualTo(1),
+                () -> assertThat(collectionCache.get(new EntityKey(orderId + 1, TestLazyOrder.class), "orderItems",
+                        elementPersister, state -> state)).isEmpty()
+        );
+    }
+
+    private EntityPersister elementPersister() throws Exception {
+        EventSource source = (EventSource) sessionFactory.openSession();
+        EntityPersister elementPersister = source.findEntityPersister(TestLazyOrderItem.class);
+        source.close();
+        return elementPersister;
+    }
+
+    private List<TestLazyOrderItem> loadItems() throws Exception {
+        EventSource source = (EventSource) sessionFactory.openSession();
+        List<TestLazyOrderItem> items = source.find(TestLazyOrder.class, orderId).getOrderItems();
+        items.size();
+        source.close();
+        return items;
+    }
+}
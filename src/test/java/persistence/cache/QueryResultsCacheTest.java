@@ -0,0 +1,81 @@
+package persistence.cache;
+
+import database.H2;
+import jdbc.JdbcTemplate;
+import jdbc.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class QueryResultsCacheTest {
+    private static final String SQL = "SELECT X AS one FROM SYSTEM_RANGE(1, 2)";
+    private static final Set<String> SPACES = Set.of("items");
+
+    private UpdateTimestampsCache updateTimestamps;
+    private QueryResultsCache cache;
+    private JdbcTemplate jdbcTemplate;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        updateTimestamps = new UpdateTimestampsCache();
+        cache = new QueryResultsCache(updateTimestamps);
+        cache.setEnabled(true);
+        jdbcTemplate = new JdbcTemplate(new H2().getConnection());
+        counter = new SqlStatementCounter();
+        jdbcTemplate.addStatementInspector(counter);
+    }
+
+    @Test
+    @DisplayName("같은 쿼리를 다시 실행하면 캐시된 결과를 반환한다.")
+    void hit() {
+        List<Long> first = cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+        List<Long> second = cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+
+        assertAll(
+                () -> assertThat(first).containsExactly(1L, 2L),
+                () -> assertThat(second).containsExactly(1L, 2L),
+                () -> assertThat(counter.getSelectCount()).isEqualTo(1),
+                () -> assertThat(cache.size()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("쿼리가 참조하는 테이블에 쓰기가 일어나면 다시 조회한다.")
+    void invalidateOnWrite() {
+        cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+        updateTimestamps.invalidate(Set.of("items"));
+        cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+
+        assertThat(counter.getSelectCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다른 테이블에 쓰기가 일어나도 캐시는 유지된다.")
+    void keepOnUnrelatedWrite() {
+        cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+        updateTimestamps.invalidate(Set.of("orders"));
+        cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+
+        assertThat(counter.getSelectCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("캐시가 꺼져 있으면 항상 데이터베이스를 조회한다.")
+    void bypassWhenDisabled() {
+        cache.setEnabled(false);
+        cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+        cache.query(jdbcTemplate, SQL, SPACES, resultSet -> resultSet.getLong("one"));
+
+        assertAll(
+                () -> assertThat(counter.getSelectCount()).isEqualTo(2),
+                () -> assertThat(cache.size()).isZero()
+        );
+    }
+}
@@ -0,0 +1,157 @@
+package persistence.entity;
+
+import database.H2;
+import jdbc.JdbcTemplate;
+import jdbc.ResultSetSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.cache.UpdateTimestampsCache;
+import persistence.fixtures.SimplePerson;
+
+import java.sql.ResultSet;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class InFlightLoadRegistryTest {
+
+    private final EntityKey entityKey = new EntityKey(1L, SimplePerson.class);
+    private final Set<String> spaces = Set.of("simple_person");
+
+    @Test
+    @DisplayName("같은 키를 동시에 조회하면 한 번만 가져오고 결과를 공유한다.")
+    void shareInFlightFetch() throws Exception {
+        InFlightLoadRegistry registry = new InFlightLoadRegistry();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new H2().getConnection());
+        CountDownLatch fetching = new CountDownLatch(1);
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        AtomicInteger fetches = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<List<Long>> leader = executor.submit(() -> registry.load(entityKey, spaces, sharing -> {
+            fetches.incrementAndGet();
+            fetching.countDown();
+            release.join();
+            return jdbcTemplate.query("SELECT 1 AS one", resultSet -> resultSet.getLong("one"), sharing);
+        }, snapshot -> List.of(-1L)));
+        fetching.await(5, TimeUnit.SECONDS);
+
+        Future<List<Long>> follower = executor.submit(() -> registry.load(entityKey, spaces, sharing -> {
+            fetches.incrementAndGet();
+            return jdbcTemplate.query("SELECT 2 AS one", resultSet -> resultSet.getLong("one"), sharing);
+        }, snapshot -> jdbcTemplate.query(snapshot, resultSet -> resultSet.getLong("one"))));
+        Thread.sleep(100);
+        release.complete(null);
+
+        List<Long> leaderValues = leader.get(5, TimeUnit.SECONDS);
+        List<Long> followerValues = follower.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertAll(
+                () -> assertThat(fetches.get()).isEqualTo(1),
+                () -> assertThat(leaderValues).containsExactly(1L),
+                () -> assertThat(followerValues).containsExactly(1L),
+                () -> assertThat(registry.size()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("함께 조회하는 세션이 없으면 결과를 복사하지 않는다.")
+    void skipSnapshotWithoutFollowers() {
+        InFlightLoadRegistry registry = new InFlightLoadRegistry();
+
+        boolean copied = registry.load(entityKey, spaces, sharing -> sharing.seal(), snapshot -> true);
+
+        assertAll(
+                () -> assertThat(copied).isFalse(),
+                () -> assertThat(registry.size()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("조회가 시작된 뒤 테이블이 변경되면 진행 중인 조회에 합류하지 않는다.")
+    void skipStaleInFlightFetch() throws Exception {
+        UpdateTimestampsCache updateTimestamps = new UpdateTimestampsCache();
+        InFlightLoadRegistry registry = new InFlightLoadRegistry(updateTimestamps);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        AtomicInteger fetches = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        Future<String> stale = executor.submit(() -> registry.load(entityKey, spaces, sharing -> {
+            fetches.incrementAndGet();
+            fetching.countDown();
+            release.join();
+            return sharing.seal() ? "shared" : "old";
+        }, snapshot -> "joined"));
+        fetching.await(5, TimeUnit.SECONDS);
+
+        updateTimestamps.invalidate(spaces);
+        String fresh = registry.load(entityKey, spaces, sharing -> {
+            fetches.incrementAndGet();
+            return "new";
+        }, snapshot -> "joined");
+        release.complete(null);
+
+        String staleValue = stale.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertAll(
+                () -> assertThat(fetches.get()).isEqualTo(2),
+                () -> assertThat(fresh).isEqualTo("new"),
+                () -> assertThat(staleValue).isEqualTo("old"),
+                () -> assertThat(registry.size()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("가져오기에 실패하면 키를 비워 다음 조회가 다시 시도한다.")
+    void retryAfterFailure() throws Exception {
+        InFlightLoadRegistry registry = new InFlightLoadRegistry();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new H2().getConnection());
+
+        assertThatThrownBy(() -> registry.load(entityKey, spaces, sharing -> {
+            throw new IllegalStateException("failed");
+        }, snapshot -> null)).isInstanceOf(IllegalStateException.class);
+
+        List<Long> values = registry.load(entityKey, spaces,
+                sharing -> jdbcTemplate.query("SELECT 1 AS one", resultSet -> resultSet.getLong("one"), sharing),
+                snapshot -> List.of());
+
+        assertAll(
+                () -> assertThat(values).containsExactly(1L),
+                () -> assertThat(registry.size()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("스냅샷은 지원하지 않는 ResultSet 기능을 SQLFeatureNotSupportedException으로 거부한다.")
+    void rejectUnsupportedSnapshotFeature() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new H2().getConnection());
+        ResultSetSnapshot snapshot = jdbcTemplate.querySnapshot("SELECT 1 AS one, CAST(2 AS SMALLINT) AS two");
+
+        try (ResultSet resultSet = snapshot.newResultSet()) {
+            resultSet.next();
+
+            assertAll(
+                    () -> assertThat(resultSet.getShort("two")).isEqualTo((short) 2),
+                    () -> assertThat(resultSet.getFloat("one")).isEqualTo(1.0f),
+                    () -> assertThat(resultSet.getRow()).isEqualTo(1),
+                    () -> assertThatThrownBy(() -> resultSet.updateInt("one", 3))
+                            .isInstanceOf(SQLFeatureNotSupportedException.class)
+                            .hasMessageContaining("updateInt")
+            );
+        }
+    }
+}
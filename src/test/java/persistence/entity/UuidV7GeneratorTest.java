@@ -0,0 +1,39 @@
+package persistence.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("버전 7, RFC 변형 비트와 현재 시각을 담은 UUID를 만든다.")
+    void generateVersion7() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.generate();
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+
+        assertAll(
+                () -> assertThat(uuid.version()).isEqualTo(7),
+                () -> assertThat(uuid.variant()).isEqualTo(2),
+                () -> assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 10)
+        );
+    }
+
+    @Test
+    @DisplayName("같은 밀리초 안에서 만들어도 생성 순서대로 정렬된다.")
+    void generateInOrder() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7Generator.generate());
+        }
+
+        assertThat(uuids).isSorted().doesNotHaveDuplicates();
+    }
+}
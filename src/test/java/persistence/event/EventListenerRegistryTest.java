@@ -0,0 +1,69 @@
+package persistence.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.event.flush.DefaultFlushEventListener;
+import persistence.event.flush.FlushEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class EventListenerRegistryTest {
+
+    @Test
+    @DisplayName("앞에 추가한 리스너는 기본 리스너보다 먼저, 뒤에 추가한 리스너는 나중에 호출된다.")
+    void appendAndPrependListeners() {
+        EventListenerRegistry registry = new EventListenerRegistry();
+        FlushEventListener first = event -> {
+        };
+        FlushEventListener second = event -> {
+        };
+        FlushEventListener last = event -> {
+        };
+
+        registry.prependListeners(EventType.FLUSH, first, second);
+        registry.appendListeners(EventType.FLUSH, last, last);
+
+        List<FlushEventListener> listeners = new ArrayList<>(registry.getEventListenerGroup(EventType.FLUSH).getListeners());
+        assertAll(
+                () -> assertThat(listeners).hasSize(4),
+                () -> assertThat(listeners.get(0)).isSameAs(first),
+                () -> assertThat(listeners.get(1)).isSameAs(second),
+                () -> assertThat(listeners.get(2)).isInstanceOf(DefaultFlushEventListener.class),
+                () -> assertThat(listeners.get(3)).isSameAs(last)
+        );
+    }
+
+    @Test
+    @DisplayName("같은 레지스트리로 만든 SessionService는 리스너 그룹을 공유한다.")
+    void shareGroupsAcrossSessions() {
+        EventListenerRegistry registry = new EventListenerRegistry();
+        SessionService first = new SessionService(registry);
+        SessionService second = new SessionService(registry);
+
+        assertAll(
+                () -> assertThat(first.PERSIST).isSameAs(second.PERSIST),
+                () -> assertThat(first.AUTO_FLUSH).isSameAs(second.AUTO_FLUSH)
+        );
+    }
+
+    @Test
+    @DisplayName("이벤트는 등록된 순서대로 각 리스너에 전달된다.")
+    void fireInOrder() {
+        List<String> calls = new ArrayList<>();
+        EventListenerGroup<FlushEventListener> group = new EventListenerGroupImpl<>(EventType.FLUSH, List.of());
+        group.appendListener(event -> calls.add("append"));
+        group.prependListener(event -> calls.add("prepend"));
+
+        boolean emptyBefore = new EventListenerGroupImpl<>(EventType.FLUSH, List.of()).isEmpty();
+        group.fireEventOnEachListener(null, FlushEventListener::onFlush);
+
+        assertAll(
+                () -> assertThat(emptyBefore).isTrue(),
+                () -> assertThat(calls).containsExactly("prepend", "append")
+        );
+    }
+}
@@ -20,7 +20,9 @@ class SessionServiceTest {
                 () -> assertThat(sessionService.DELETE.getEventType()).isEqualTo(EventType.DELETE),
                 () -> assertThat(sessionService.DELETE.getListeners()).hasSize(1),
                 () -> assertThat(sessionService.FLUSH.getEventType()).isEqualTo(EventType.FLUSH),
-                () -> assertThat(sessionService.FLUSH.getListeners()).hasSize(1)
+                () -> assertThat(sessionService.FLUSH.getListeners()).hasSize(1),
+                () -> assertThat(sessionService.AUTO_FLUSH.getEventType()).isEqualTo(EventType.AUTO_FLUSH),
+                () -> assertThat(sessionService.AUTO_FLUSH.getListeners()).hasSize(1)
         );
     }
 }
@@ -0,0 +1,106 @@
+package persistence.event.flush;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.event.EventSource;
+import persistence.fixtures.SimplePerson;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManagerFactory;
+import persistence.session.FlushMode;
+import persistence.session.SchemaManagementToolCoordinator;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class DefaultAutoFlushEventListenerTest {
+
+    private static DatabaseServer server;
+    private static EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        entityManagerFactory = metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        entityManagerFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("쿼리 대상 테이블에 대기중인 액션이 있을 때만 flush 한다.")
+    void flushOverlappingTables() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        SimplePerson person = new SimplePerson("John");
+        source.persist(person);
+        person.setName("Jane");
+        source.merge(person);
+
+        AutoFlushEvent otherTable = new AutoFlushEvent(source, Set.of("lazy_orders"));
+        new DefaultAutoFlushEventListener().onAutoFlush(otherTable);
+        List<String> beforeFlush = findName(1L);
+
+        AutoFlushEvent sameTable = new AutoFlushEvent(source, Set.of("SimplePerson"));
+        new DefaultAutoFlushEventListener().onAutoFlush(sameTable);
+
+        assertAll(
+                () -> assertThat(otherTable.isFlushRequired()).isFalse(),
+                () -> assertThat(beforeFlush).containsExactly("John"),
+                () -> assertThat(sameTable.isFlushRequired()).isTrue(),
+                () -> assertThat(source.getActionQueue().areTablesToBeUpdated(Set.of("SimplePerson"))).isFalse(),
+                () -> assertThat(findName(1L)).containsExactly("Jane")
+        );
+    }
+
+    @Test
+    @DisplayName("AUTO 모드에서는 같은 테이블을 조회하기 전에 대기중인 변경을 반영한다.")
+    void autoFlushBeforeFind() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        SimplePerson person = new SimplePerson("John");
+        source.persist(person);
+        source.findEntityPersister(SimplePerson.class).insert(new SimplePerson("Unmanaged"));
+
+        person.setName("Jane");
+        source.merge(person);
+        source.find(SimplePerson.class, 2L);
+
+        assertThat(findName(1L)).containsExactly("Jane");
+    }
+
+    @Test
+    @DisplayName("COMMIT 모드에서는 조회 시 대기중인 변경을 반영하지 않는다.")
+    void noAutoFlushInCommitMode() throws SQLException {
+        EventSource source = (EventSource) entityManagerFactory.openSession();
+        source.setFlushMode(FlushMode.COMMIT);
+        SimplePerson person = new SimplePerson("John");
+        source.persist(person);
+        source.findEntityPersister(SimplePerson.class).insert(new SimplePerson("Unmanaged"));
+
+        person.setName("Jane");
+        source.merge(person);
+        source.find(SimplePerson.class, 2L);
+
+        assertThat(findName(1L)).containsExactly("John");
+    }
+
+    private List<String> findName(Long id) throws SQLException {
+        return new JdbcTemplate(server.getConnection())
+                .query("SELECT name FROM SimplePerson WHERE id = " + id, resultSet -> resultSet.getString("name"));
+    }
+}
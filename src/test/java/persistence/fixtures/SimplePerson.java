@@ -33,4 +33,8 @@ public class SimplePerson {
     public String getName() {
         return name;
     }
+
+    public void setName(String name) {
+        this.name = name;
+    }
 }
@@ -0,0 +1,97 @@
+package persistence.fixtures;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "typed_values")
+public class TypedValues {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private long longValue;
+
+    private int intValue;
+
+    private boolean booleanValue;
+
+    private double doubleValue;
+
+    @Column(precision = 12, scale = 4)
+    private BigDecimal amount;
+
+    private Instant createdAt;
+
+    private LocalDate birthDate;
+
+    private UUID token;
+
+    private byte[] payload;
+
+    public TypedValues() {
+    }
+
+    public TypedValues(long longValue, int intValue, boolean booleanValue, double doubleValue, BigDecimal amount,
+                       Instant createdAt, LocalDate birthDate, UUID token, byte[] payload) {
+        this.longValue = longValue;
+        this.intValue = intValue;
+        this.booleanValue = booleanValue;
+        this.doubleValue = doubleValue;
+        this.amount = amount;
+        this.createdAt = createdAt;
+        this.birthDate = birthDate;
+        this.token = token;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public int getIntValue() {
+        return intValue;
+    }
+
+    public boolean isBooleanValue() {
+        return booleanValue;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public UUID getToken() {
+        return token;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
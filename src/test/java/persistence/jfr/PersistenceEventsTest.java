@@ -0,0 +1,99 @@
+package persistence.jfr;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.SimplePerson;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManager;
+import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaManagementToolCoordinator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class PersistenceEventsTest {
+
+    private DatabaseServer server;
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        entityManagerFactory = metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        entityManagerFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("쿼리, flush, 하이드레이션, 지연 로딩 이벤트를 JFR 로 기록한다.")
+    void recordEvents() throws Exception {
+        EntityManager em = entityManagerFactory.openSession();
+        TestLazyOrder order = new TestLazyOrder("order");
+        order.getOrderItems().add(new TestLazyOrderItem("product", 1));
+        em.persist(order);
+        em.persist(new SimplePerson("John"));
+        em.clear();
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(JdbcExecutionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(FlushExecutionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(HydrationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(LazyLoadEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            TestLazyOrder found = em.find(TestLazyOrder.class, 1L);
+            found.getOrderItems().size();
+            em.flush();
+
+            recording.stop();
+            Path file = Files.createTempFile("persistence", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.deleteIfExists(file);
+        }
+
+        List<RecordedEvent> hydrations = named(events, "persistence.Hydration");
+        List<RecordedEvent> lazyLoads = named(events, "persistence.LazyLoad");
+
+        assertAll(
+                () -> assertThat(named(events, "persistence.JdbcExecution")).hasSize(2),
+                () -> assertThat(named(events, "persistence.Flush")).hasSize(1),
+                () -> assertThat(hydrations.get(0).getString("entityType")).isEqualTo(TestLazyOrder.class.getName()),
+                () -> assertThat(hydrations.get(0).getLong("rows")).isEqualTo(1L),
+                () -> assertThat(lazyLoads).hasSize(1),
+                () -> assertThat(lazyLoads.get(0).getString("ownerType")).isEqualTo(TestLazyOrder.class.getName()),
+                () -> assertThat(lazyLoads.get(0).getInt("collectionSize")).isEqualTo(1)
+        );
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+}
@@ -0,0 +1,117 @@
+package persistence.meta;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.sql.definition.ColumnDefinitionAware;
+import persistence.sql.definition.EntityDescriptor;
+import persistence.sql.definition.TableAssociationDefinition;
+import persistence.sql.definition.TableDefinition;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class MetadataSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("스냅샷에서 읽은 테이블 정의는 리플렉션으로 분석한 정의와 같다.")
+    void roundTrip() {
+        final Path file = directory.resolve("metadata.snapshot");
+        final TableDefinition analysed = new TableDefinition(TestLazyOrder.class);
+
+        final MetadataSnapshot written = MetadataSnapshot.load(file);
+        written.put(analysed);
+        written.save(List.of(TestLazyOrder.class));
+
+        final Optional<EntityDescriptor> descriptor = MetadataSnapshot.load(file).find(TestLazyOrder.class);
+        assertThat(descriptor).isPresent();
+
+        final TableDefinition cached = new TableDefinition(descriptor.get());
+        final TableAssociationDefinition association = cached.getAssociations().get(0);
+        assertAll(
+                () -> assertThat(cached.getTableName()).isEqualTo("lazy_orders"),
+                () -> assertThat(cached.getIdColumnName()).isEqualTo("order_id"),
+                () -> assertThat(cached.isIdentityIdentifier()).isTrue(),
+                () -> assertThat(columnNames(cached)).isEqualTo(columnNames(analysed)),
+                () -> assertThat(association.getAssociatedEntityClass()).isEqualTo(TestLazyOrderItem.class),
+                () -> assertThat(association.getJoinColumnName()).isEqualTo("order_id"),
+                () -> assertThat(association.isLazy()).isTrue()
+        );
+    }
+
+    @Test
+    @DisplayName("더 이상 엔티티가 아닌 클래스의 항목은 저장할 때 버린다.")
+    void dropRemovedEntities() {
+        final Path file = directory.resolve("metadata.snapshot");
+        final MetadataSnapshot written = MetadataSnapshot.load(file);
+        written.put(new TableDefinition(TestLazyOrder.class));
+        written.put(new TableDefinition(TestLazyOrderItem.class));
+        written.save(List.of(TestLazyOrderItem.class));
+
+        final MetadataSnapshot loaded = MetadataSnapshot.load(file);
+
+        assertAll(
+                () -> assertThat(loaded.size()).isEqualTo(1),
+                () -> assertThat(loaded.find(TestLazyOrder.class)).isEmpty(),
+                () -> assertThat(loaded.find(TestLazyOrderItem.class)).isPresent()
+        );
+    }
+
+    @Test
+    @DisplayName("클래스 파일이 바뀐 항목은 버리고 다시 분석한 정의로 교체한다.")
+    void reanalyseChangedClass() throws Exception {
+        final Path file = directory.resolve("metadata.snapshot");
+        final MetadataSnapshot written = MetadataSnapshot.load(file);
+        written.put(new TableDefinition(TestLazyOrder.class));
+        written.save(List.of(TestLazyOrder.class));
+
+        // magic, version, entry count, class name, fingerprint length, then the fingerprint itself
+        final byte[] bytes = Files.readAllBytes(file);
+        final int fingerprintOffset = 4 + 2 + 4 + 2 + TestLazyOrder.class.getName().length() + 1;
+        bytes[fingerprintOffset] ^= 0x7F;
+        Files.write(file, bytes);
+
+        final MetadataSnapshot stale = MetadataSnapshot.load(file);
+        final Optional<EntityDescriptor> staleDescriptor = stale.find(TestLazyOrder.class);
+        final int sizeAfterLookup = stale.size();
+
+        stale.put(new TableDefinition(TestLazyOrder.class));
+        stale.save(List.of(TestLazyOrder.class));
+
+        assertAll(
+                () -> assertThat(staleDescriptor).isEmpty(),
+                () -> assertThat(sizeAfterLookup).isZero(),
+                () -> assertThat(MetadataSnapshot.load(file).find(TestLazyOrder.class)).isPresent()
+        );
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 스냅샷 파일은 무시한다.")
+    void ignoreCorruptedFile() throws Exception {
+        final Path file = directory.resolve("metadata.snapshot");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        final MetadataSnapshot loaded = MetadataSnapshot.load(file);
+
+        assertAll(
+                () -> assertThat(loaded.size()).isEqualTo(0),
+                () -> assertThat(loaded.find(TestLazyOrder.class)).isEmpty()
+        );
+    }
+
+    private static List<String> columnNames(TableDefinition tableDefinition) {
+        return tableDefinition.getColumns().stream()
+                .map(ColumnDefinitionAware::getDatabaseColumnName)
+                .toList();
+    }
+}
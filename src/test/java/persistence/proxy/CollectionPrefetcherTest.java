@@ -0,0 +1,213 @@
+package persistence.proxy;
+
+import database.ConnectionPool;
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.SchemaManagementToolCoordinator;
+import persistence.session.SessionFactoryImpl;
+import persistence.stat.NPlusOneDetector;
+import persistence.stat.StatisticsImpl;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class CollectionPrefetcherTest {
+
+    private DatabaseServer server;
+    private SessionFactoryImpl sessionFactory;
+    private ConnectionPool connectionPool;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        sessionFactory = (SessionFactoryImpl) metadata.buildEntityManagerFactory();
+        connectionPool = new ConnectionPool(new GatedDatabaseServer(server, 3));
+        jdbcTemplate = new JdbcTemplate(connectionPool, new StatisticsImpl(), NPlusOneDetector.disabled());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jdbcTemplate.close();
+        connectionPool.close();
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("여러 지연 컬렉션을 각자의 커넥션에서 동시에 초기화한다.")
+    void prefetchConcurrently() {
+        List<Boolean> results = sessionFactory.callInSession(session -> {
+            List<TestLazyOrder> orders = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                TestLazyOrder order = new TestLazyOrder("order-" + i);
+                for (int j = 0; j <= i; j++) {
+                    order.getOrderItems().add(new TestLazyOrderItem("product-" + i, j));
+                }
+                session.persist(order);
+                orders.add(order);
+            }
+            session.flush();
+            session.clear();
+
+            CollectionPrefetcher prefetcher = new CollectionPrefetcher(jdbcTemplate);
+            List<TestLazyOrder> found = new ArrayList<>();
+            for (TestLazyOrder order : orders) {
+                TestLazyOrder persisted = session.find(TestLazyOrder.class, order.getId());
+                prefetcher.add(persisted.getOrderItems());
+                found.add(persisted);
+            }
+            prefetcher.execute();
+
+            List<Boolean> initialized = new ArrayList<>();
+            for (int i = 0; i < found.size(); i++) {
+                List<TestLazyOrderItem> items = found.get(i).getOrderItems();
+                initialized.add(persistentList(items).isInitialized()
+                        && items.size() == i + 1
+                        && items.get(0).getProduct().equals("product-" + i));
+            }
+            return initialized;
+        });
+
+        assertAll(
+                () -> assertThat(results).hasSize(3).containsOnly(true),
+                () -> assertThat(connectionPool.getPeakActiveCount()).isEqualTo(3),
+                () -> assertThat(connectionPool.getActiveCount()).isZero(),
+                () -> assertThat(connectionPool.getIdleCount()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    @DisplayName("한 컬렉션의 초기화가 실패하면 나머지 조회가 끝나 커넥션을 돌려준 뒤 예외를 던진다.")
+    void returnConnectionsOnFailure() {
+        sessionFactory.runInSession(session -> {
+            List<TestLazyOrder> orders = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                TestLazyOrder order = new TestLazyOrder("order-" + i);
+                order.getOrderItems().add(new TestLazyOrderItem("product-" + i, i));
+                session.persist(order);
+                orders.add(order);
+            }
+            session.flush();
+            session.clear();
+
+            AtomicInteger statements = new AtomicInteger();
+            jdbcTemplate.addStatementInspector(
+                    sql -> statements.getAndIncrement() == 0 ? "SELECT * FROM missing_table" : sql);
+            CollectionPrefetcher prefetcher = new CollectionPrefetcher(jdbcTemplate);
+            for (TestLazyOrder order : orders) {
+                prefetcher.add(session.find(TestLazyOrder.class, order.getId()).getOrderItems());
+            }
+
+            assertThatThrownBy(prefetcher::execute).isInstanceOf(RuntimeException.class);
+        });
+
+        assertAll(
+                () -> assertThat(connectionPool.getPeakActiveCount()).isEqualTo(3),
+                () -> assertThat(connectionPool.getActiveCount()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("이미 초기화되었거나 프록시가 아닌 컬렉션은 추가하지 않는다.")
+    void skipNonProxyCollection() {
+        CollectionPrefetcher prefetcher = new CollectionPrefetcher(jdbcTemplate);
+
+        assertAll(
+                () -> assertThat(prefetcher.add(new ArrayList<>())).isFalse(),
+                () -> assertThat(prefetcher.add(null)).isFalse()
+        );
+    }
+
+    @Test
+    @DisplayName("세션의 prefetch는 지정한 연관관계의 컬렉션을 초기화한다.")
+    void prefetchThroughSession() {
+        boolean initialized = sessionFactory.callInSession(session -> {
+            TestLazyOrder order = new TestLazyOrder("order");
+            order.getOrderItems().add(new TestLazyOrderItem("product1", 1));
+            order.getOrderItems().add(new TestLazyOrderItem("product2", 2));
+            session.persist(order);
+            session.flush();
+            session.clear();
+
+            TestLazyOrder persisted = session.find(TestLazyOrder.class, order.getId());
+            session.prefetch(persisted, "orderItems");
+            return persistentList(persisted.getOrderItems()).isInitialized()
+                    && persisted.getOrderItems().size() == 2;
+        });
+
+        assertThat(initialized).isTrue();
+    }
+
+    @Test
+    @DisplayName("없는 연관관계를 prefetch하면 예외가 발생한다.")
+    void prefetchUnknownAssociation() {
+        sessionFactory.runInSession(session -> {
+            TestLazyOrder order = new TestLazyOrder("order");
+            session.persist(order);
+
+            assertThatThrownBy(() -> session.prefetch(order, "unknown"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Unknown association unknown");
+        });
+    }
+
+    private static PersistentList<?> persistentList(Object collection) {
+        return (PersistentList<?>) Proxy.getInvocationHandler(collection);
+    }
+
+    // hands out a connection only once the given number are being opened at the same time
+    private static class GatedDatabaseServer implements DatabaseServer {
+        private final DatabaseServer delegate;
+        private final CountDownLatch opening;
+
+        GatedDatabaseServer(DatabaseServer delegate, int parties) {
+            this.delegate = delegate;
+            this.opening = new CountDownLatch(parties);
+        }
+
+        @Override
+        public void start() throws SQLException {
+            delegate.start();
+        }
+
+        @Override
+        public void stop() {
+            delegate.stop();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            opening.countDown();
+            try {
+                opening.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.getConnection();
+        }
+    }
+}
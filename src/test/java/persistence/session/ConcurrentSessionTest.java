@@ -0,0 +1,126 @@
+package persistence.session;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import jdbc.RowMapperFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.TestEagerOrder;
+import persistence.fixtures.TestEagerOrderItem;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.meta.Metamodel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ConcurrentSessionTest {
+    private static final int SESSIONS = 200;
+
+    private DatabaseServer server;
+    private Metadata metadata;
+    private SessionFactoryImpl sessionFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        sessionFactory = (SessionFactoryImpl) metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("즉시 로딩 매퍼는 같은 팩토리의 세션끼리 하나를 공유하고 팩토리끼리는 공유하지 않는다.")
+    void shareEagerMapper() throws Exception {
+        RowMapperFactory rowMapperFactory = sessionFactory.getRowMapperFactory();
+        Metamodel first = new Metamodel(metadata, new JdbcTemplate(server.getConnection()));
+        Metamodel second = new Metamodel(metadata, new JdbcTemplate(server.getConnection()));
+
+        assertAll(
+                () -> assertThat(rowMapperFactory.getRowMapper(TestEagerOrder.class, first, first.getJdbcTemplate()))
+                        .isSameAs(rowMapperFactory.getRowMapper(TestEagerOrder.class, second, second.getJdbcTemplate())),
+                () -> assertThat(first.getRowMapperFactory().getRowMapper(TestEagerOrder.class, first, first.getJdbcTemplate()))
+                        .isNotSameAs(rowMapperFactory.getRowMapper(TestEagerOrder.class, first, first.getJdbcTemplate()))
+        );
+    }
+
+    @Test
+    @DisplayName("동시에 열린 세션들이 각자 저장한 엔티티를 즉시 로딩으로 다시 읽는다.")
+    void concurrentEagerSessions() throws Exception {
+        List<Boolean> results = runConcurrently(index -> sessionFactory.callInSession(session -> {
+            TestEagerOrder order = new TestEagerOrder("eager-" + index);
+            order.getOrderItems().add(new TestEagerOrderItem("product-" + index, index));
+            order.getOrderItems().add(new TestEagerOrderItem("product-" + index, index));
+            session.persist(order);
+            session.flush();
+            session.clear();
+
+            TestEagerOrder found = session.find(TestEagerOrder.class, order.getId());
+            return found.getOrderNumber().equals("eager-" + index)
+                    && found.getOrderItems().size() == 2
+                    && found.getOrderItems().get(0).getProduct().equals("product-" + index);
+        }));
+
+        assertThat(results).hasSize(SESSIONS).containsOnly(true);
+    }
+
+    @Test
+    @DisplayName("동시에 열린 세션들이 각자 저장한 엔티티를 지연 로딩으로 다시 읽는다.")
+    void concurrentLazySessions() throws Exception {
+        List<Boolean> results = runConcurrently(index -> sessionFactory.callInSession(session -> {
+            TestLazyOrder order = new TestLazyOrder("lazy-" + index);
+            order.getOrderItems().add(new TestLazyOrderItem("product-" + index, index));
+            session.persist(order);
+            session.flush();
+            session.clear();
+
+            TestLazyOrder found = session.find(TestLazyOrder.class, order.getId());
+            return found.getOrderNumber().equals("lazy-" + index)
+                    && found.getOrderItems().size() == 1
+                    && found.getOrderItems().get(0).getProduct().equals("product-" + index);
+        }));
+
+        assertThat(results).hasSize(SESSIONS).containsOnly(true);
+    }
+
+    private List<Boolean> runConcurrently(IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            final int index = i;
+            futures.add(executor.submit((Callable<Boolean>) () -> task.run(index)));
+        }
+
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        boolean run(int index);
+    }
+}
@@ -0,0 +1,126 @@
+package persistence.session;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaManagementToolCoordinatorTest {
+
+    private DatabaseServer server;
+    private Metadata metadata;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        server = new H2();
+        server.start();
+        metadata = new MetadataImpl(server);
+        jdbcTemplate = new JdbcTemplate(server.getConnection());
+        SchemaManagementToolCoordinator.processDropTable(jdbcTemplate, metadata);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SchemaManagementToolCoordinator.processDropTable(jdbcTemplate, metadata);
+        jdbcTemplate.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("테이블이 없으면 validate는 실패한다.")
+    void validateMissingTables() {
+        assertThatThrownBy(() -> SchemaManagementToolCoordinator.processValidate(jdbcTemplate, metadata))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing table lazy_orders");
+    }
+
+    @Test
+    @DisplayName("update는 없는 테이블을 만들고 만든 스키마는 validate를 통과한다.")
+    void updateCreatesMissingTables() {
+        SchemaManagementToolCoordinator.processUpdate(jdbcTemplate, metadata);
+
+        assertThatCode(() -> SchemaManagementToolCoordinator.processValidate(jdbcTemplate, metadata))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("update는 기존 데이터를 유지한 채 빠진 컬럼만 추가한다.")
+    void updateAddsMissingColumns() {
+        jdbcTemplate.execute("CREATE TABLE lazy_order_items (id BIGINT AUTO_INCREMENT PRIMARY KEY);");
+        jdbcTemplate.execute("INSERT INTO lazy_order_items (id) VALUES (1);");
+
+        SchemaManagementToolCoordinator.processUpdate(jdbcTemplate, metadata);
+
+        assertThatCode(() -> SchemaManagementToolCoordinator.processValidate(jdbcTemplate, metadata))
+                .doesNotThrowAnyException();
+        assertThat(jdbcTemplate.query(
+                "SELECT product FROM lazy_order_items WHERE id = 1", resultSet -> resultSet.getString("product")
+        )).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("validate는 컬럼의 타입, 길이, NOT NULL 여부가 엔티티와 다르면 모두 보고한다.")
+    void validateColumnDefinitions() {
+        SchemaManagementToolCoordinator.processCreateTable(jdbcTemplate, metadata);
+        jdbcTemplate.execute("DROP TABLE lazy_order_items;");
+        jdbcTemplate.execute("CREATE TABLE lazy_order_items (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "product VARCHAR(20) NOT NULL, quantity VARCHAR(10), order_id BIGINT);");
+
+        assertThatThrownBy(() -> SchemaManagementToolCoordinator.processValidate(jdbcTemplate, metadata))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("wrong length for lazy_order_items.product: expected 255, found 20")
+                .hasMessageContaining("wrong nullability for lazy_order_items.product")
+                .hasMessageContaining("wrong type for lazy_order_items.quantity: expected INTEGER")
+                .hasMessageNotContaining("lazy_order_items.order_id");
+    }
+
+    @Test
+    @DisplayName("연관관계의 조인 컬럼에는 인덱스를 자동으로 만든다.")
+    void indexJoinColumns() throws SQLException {
+        SchemaManagementToolCoordinator.processCreateTable(jdbcTemplate, metadata);
+
+        List<String> indexedColumns = jdbcTemplate.readMetaData((metaData, schema) -> {
+            List<String> columns = new ArrayList<>();
+            try (ResultSet resultSet = metaData.getIndexInfo(null, schema, "LAZY_ORDER_ITEMS", false, false)) {
+                while (resultSet.next()) {
+                    columns.add(resultSet.getString("COLUMN_NAME"));
+                }
+            }
+            return columns;
+        });
+
+        assertThat(indexedColumns).contains("ORDER_ID");
+    }
+
+    @Test
+    @DisplayName("none으로 만든 팩토리는 DDL을 실행하지 않는다.")
+    void noneSkipsSchemaGeneration() throws SQLException {
+        new SessionFactoryImpl(new ThreadLocalCurrentSessionContext(), metadata, SchemaAction.NONE).close();
+
+        assertThatThrownBy(() -> SchemaManagementToolCoordinator.processValidate(jdbcTemplate, metadata))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("설정 값의 하이픈 표기를 스키마 액션으로 바꾼다.")
+    void parseSchemaAction() {
+        assertThat(SchemaAction.from("create-drop")).isEqualTo(SchemaAction.CREATE_DROP);
+        assertThatThrownBy(() -> SchemaAction.from("recreate"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
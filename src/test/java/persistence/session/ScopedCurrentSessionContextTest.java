@@ -0,0 +1,121 @@
+package persistence.session;
+
+import database.DatabaseServer;
+import database.H2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ScopedCurrentSessionContextTest {
+
+    private DatabaseServer server;
+    private SessionFactoryImpl sessionFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+        sessionFactory = new SessionFactoryImpl(new ScopedCurrentSessionContext(), metadata);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("스코프 안에서만 현재 세션이 보인다.")
+    void bindWithinScope() {
+        EntityManager current = sessionFactory.callInSession(session -> {
+            assertThat(sessionFactory.getCurrentSession()).isSameAs(session);
+            return session;
+        });
+
+        assertAll(
+                () -> assertThat(current).isNotNull(),
+                () -> assertThat(sessionFactory.getCurrentSession()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("작업이 실패해도 스코프를 벗어나면 세션이 풀린다.")
+    void unbindOnFailure() {
+        assertThatThrownBy(() -> sessionFactory.runInSession(session -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(sessionFactory.getCurrentSession()).isNull();
+    }
+
+    @Test
+    @DisplayName("중첩된 스코프를 벗어나면 바깥 세션이 다시 보인다.")
+    void restoreOuterSession() {
+        sessionFactory.runInSession(outer -> {
+            EntityManager inner = sessionFactory.callInSession(session -> session);
+
+            assertAll(
+                    () -> assertThat(inner).isNotSameAs(outer),
+                    () -> assertThat(sessionFactory.getCurrentSession()).isSameAs(outer)
+            );
+        });
+    }
+
+    @Test
+    @DisplayName("스코프 밖에서 연 세션은 현재 세션으로 묶이지 않는다.")
+    void openSessionOutsideScope() throws Exception {
+        try (EntityManager session = sessionFactory.openSession()) {
+            assertAll(
+                    () -> assertThat(session).isNotNull(),
+                    () -> assertThat(sessionFactory.getCurrentSession()).isNull()
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("스코프 안에서 연 세션은 현재 세션을 바꾸지 않는다.")
+    void openSessionInsideScope() {
+        sessionFactory.runInSession(current -> {
+            try (EntityManager opened = sessionFactory.openSession()) {
+                assertAll(
+                        () -> assertThat(opened).isNotSameAs(current),
+                        () -> assertThat(sessionFactory.getCurrentSession()).isSameAs(current)
+                );
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("스레드마다 자신의 세션을 본다.")
+    void isolateThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(executor.submit(() -> sessionFactory.callInSession(
+                    session -> sessionFactory.getCurrentSession() == session
+            )));
+        }
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        executor.shutdown();
+    }
+}
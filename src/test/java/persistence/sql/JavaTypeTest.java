@@ -0,0 +1,158 @@
+package persistence.sql;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import jdbc.ResultSetSnapshot;
+import jdbc.RowMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.TypedValues;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.meta.Metamodel;
+import persistence.session.SchemaManagementToolCoordinator;
+import persistence.session.SessionFactoryImpl;
+import persistence.sql.dml.query.SelectQueryBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class JavaTypeTest {
+
+    private DatabaseServer server;
+    private Metadata metadata;
+    private SessionFactoryImpl sessionFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        sessionFactory = (SessionFactoryImpl) metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("원시 타입과 래퍼 타입은 같은 SqlType으로 매핑되지만 원시 타입 여부는 구분된다")
+    void primitiveAndWrapper() {
+        assertAll(
+                () -> assertThat(JavaType.from("long").getSqlType()).isEqualTo(SqlType.BIGINT),
+                () -> assertThat(JavaType.from("Long").getSqlType()).isEqualTo(SqlType.BIGINT),
+                () -> assertThat(JavaType.from("long").isPrimitive()).isTrue(),
+                () -> assertThat(JavaType.from("Long").isPrimitive()).isFalse()
+        );
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 타입은 예외가 발생한다")
+    void unknownType() {
+        assertThatThrownBy(() -> JavaType.from("Object"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("값은 타입에 맞는 SQL 리터럴로 변환된다")
+    void literal() {
+        assertAll(
+                () -> assertThat(JavaType.literal(null)).isEqualTo("null"),
+                () -> assertThat(JavaType.literal("it's")).isEqualTo("'it''s'"),
+                () -> assertThat(JavaType.literal(1L)).isEqualTo("1"),
+                () -> assertThat(JavaType.literal(true)).isEqualTo("true"),
+                () -> assertThat(JavaType.literal(new BigDecimal("1E+3"))).isEqualTo("1000"),
+                () -> assertThat(JavaType.literal(Instant.parse("2024-01-02T03:04:05Z")))
+                        .isEqualTo("TIMESTAMP WITH TIME ZONE '2024-01-02 03:04:05.000000000Z'"),
+                () -> assertThat(JavaType.literal(LocalDate.of(2024, 1, 2))).isEqualTo("DATE '2024-01-02'"),
+                () -> assertThat(JavaType.literal(UUID.fromString("00000000-0000-0000-0000-000000000001")))
+                        .isEqualTo("'00000000-0000-0000-0000-000000000001'"),
+                () -> assertThat(JavaType.literal(new byte[]{0x0a, (byte) 0xff})).isEqualTo("X'0aff'")
+        );
+    }
+
+    @Test
+    @DisplayName("NaN과 무한대는 SQL 리터럴로 변환할 수 없다")
+    void rejectNonFiniteLiteral() {
+        assertAll(
+                () -> assertThatThrownBy(() -> JavaType.literal(Double.NaN))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("NaN"),
+                () -> assertThatThrownBy(() -> JavaType.literal(Double.NEGATIVE_INFINITY))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThatThrownBy(() -> JavaType.literal(Float.POSITIVE_INFINITY))
+                        .isInstanceOf(IllegalArgumentException.class),
+                () -> assertThat(JavaType.literal(1.5d)).isEqualTo("1.5"),
+                () -> assertThat(JavaType.literal(-0.25f)).isEqualTo("-0.25")
+        );
+    }
+
+    @Test
+    @DisplayName("값 타입 컬럼은 저장한 값 그대로 ResultSet에서 다시 읽힌다")
+    void roundTripFromResultSet() {
+        TypedValues values = typedValues();
+        TypedValues found = sessionFactory.callInSession(session -> {
+            session.persist(values);
+            session.flush();
+            session.clear();
+            return session.find(TypedValues.class, values.getId());
+        });
+
+        assertRoundTrip(values, found);
+    }
+
+    @Test
+    @DisplayName("값 타입 컬럼은 ResultSetSnapshot에서도 저장한 값 그대로 읽힌다")
+    void roundTripFromSnapshot() throws Exception {
+        TypedValues values = typedValues();
+        sessionFactory.runInSession(session -> {
+            session.persist(values);
+            session.flush();
+        });
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(server.getConnection());
+        Metamodel metamodel = new Metamodel(metadata, jdbcTemplate);
+        RowMapper<TypedValues> rowMapper =
+                metamodel.getRowMapperFactory().getRowMapper(TypedValues.class, metamodel, jdbcTemplate);
+        ResultSetSnapshot snapshot = jdbcTemplate.querySnapshot(
+                new SelectQueryBuilder(TypedValues.class, metamodel).buildById(values.getId()));
+
+        assertRoundTrip(values, jdbcTemplate.queryForObject(snapshot, rowMapper));
+        jdbcTemplate.close();
+    }
+
+    private static TypedValues typedValues() {
+        return new TypedValues(
+                Long.MAX_VALUE, Integer.MIN_VALUE, true, 0.125d, new BigDecimal("12345678.1234"),
+                Instant.parse("2024-01-02T03:04:05.123456Z"), LocalDate.of(2024, 1, 2),
+                UUID.fromString("00000000-0000-0000-0000-000000000001"), new byte[]{0x0a, (byte) 0xff}
+        );
+    }
+
+    private static void assertRoundTrip(TypedValues values, TypedValues found) {
+        assertAll(
+                () -> assertThat(found.getLongValue()).isEqualTo(values.getLongValue()),
+                () -> assertThat(found.getIntValue()).isEqualTo(values.getIntValue()),
+                () -> assertThat(found.isBooleanValue()).isEqualTo(values.isBooleanValue()),
+                () -> assertThat(found.getDoubleValue()).isEqualTo(values.getDoubleValue()),
+                () -> assertThat(found.getAmount()).isEqualTo(values.getAmount()),
+                () -> assertThat(found.getCreatedAt()).isEqualTo(values.getCreatedAt()),
+                () -> assertThat(found.getBirthDate()).isEqualTo(values.getBirthDate()),
+                () -> assertThat(found.getToken()).isEqualTo(values.getToken()),
+                () -> assertThat(found.getPayload()).isEqualTo(values.getPayload())
+        );
+    }
+}
@@ -8,7 +8,13 @@ import org.junit.jupiter.api.Test;
 import persistence.sql.SqlType;
 import persistence.sql.definition.ColumnDefinition;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 class ColumnDefinitionTest {
@@ -31,6 +37,27 @@ class ColumnDefinitionTest {
         private Long column4;
 
         private Integer column5;
+
+        private long column6;
+
+        private boolean column7;
+
+        private BigDecimal column8;
+
+        private Instant column9;
+
+        private UUID column10;
+
+        private byte[] column11;
+
+        @Column(precision = 12, scale = 4)
+        private BigDecimal column12;
+    }
+
+    // not an entity, the metadata scan would reject it
+    private static class CollectionHolder {
+
+        private List<String> column13;
     }
 
     @Test
@@ -85,4 +112,58 @@ class ColumnDefinitionTest {
                 () -> assertThat(column3.getLength()).isEqualTo(100)
         );
     }
+
+    @Test
+    @DisplayName("원시 타입과 값 타입 필드도 SqlType으로 생성된다")
+    void shouldCreateValueTypeColumnSqlType() throws Exception {
+        ColumnDefinition column6 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column6"));
+        ColumnDefinition column7 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column7"));
+        ColumnDefinition column8 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column8"));
+        ColumnDefinition column9 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column9"));
+        ColumnDefinition column10 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column10"));
+        ColumnDefinition column11 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column11"));
+
+        assertAll(
+                () -> assertThat(column6.getSqlType()).isEqualTo(SqlType.BIGINT),
+                () -> assertThat(column7.getSqlType()).isEqualTo(SqlType.BOOLEAN),
+                () -> assertThat(column8.getSqlType()).isEqualTo(SqlType.DECIMAL),
+                () -> assertThat(column9.getSqlType()).isEqualTo(SqlType.TIMESTAMP),
+                () -> assertThat(column10.getSqlType()).isEqualTo(SqlType.UUID),
+                () -> assertThat(column11.getSqlType()).isEqualTo(SqlType.VARBINARY)
+        );
+    }
+
+    @Test
+    @DisplayName("원시 타입 필드는 null을 담을 수 없으므로 NOT NULL로 생성된다")
+    void shouldCreatePrimitiveColumnNotNull() throws Exception {
+        ColumnDefinition column5 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column5"));
+        ColumnDefinition column6 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column6"));
+
+        assertAll(
+                () -> assertThat(column5.isNullable()).isTrue(),
+                () -> assertThat(column6.isNullable()).isFalse()
+        );
+    }
+
+    @Test
+    @DisplayName("DECIMAL의 precision과 scale은 1. @Column(precision=.., scale=..) 2. NUMERIC(38, 2)로 생성된다")
+    void shouldCreateDecimalPrecisionAndScale() throws Exception {
+        ColumnDefinition column8 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column8"));
+        ColumnDefinition column12 = new ColumnDefinition(ColumnDefinitionTestEntity.class.getDeclaredField("column12"));
+
+        assertAll(
+                () -> assertThat(column8.getPrecision()).isEqualTo(38),
+                () -> assertThat(column8.getScale()).isEqualTo(2),
+                () -> assertThat(column12.getPrecision()).isEqualTo(12),
+                () -> assertThat(column12.getScale()).isEqualTo(4)
+        );
+    }
+
+    @Test
+    @DisplayName("연관관계가 아닌 컬렉션 필드는 컬럼으로 만들 수 없다")
+    void shouldRejectCollectionColumn() {
+        assertThatThrownBy(() -> new ColumnDefinition(CollectionHolder.class.getDeclaredField("column13")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("column13");
+    }
 }
@@ -0,0 +1,30 @@
+package persistence.sql.ddl.fixtures;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(
+        indexes = @Index(name = "idx_indexed_name_age", columnList = "name, age DESC"),
+        uniqueConstraints = @UniqueConstraint(columnNames = {"name", "age"})
+)
+public class TestEntityWithIndexes {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    private Integer age;
+
+    @Column(name = "email_address", unique = true)
+    private String email;
+
+}
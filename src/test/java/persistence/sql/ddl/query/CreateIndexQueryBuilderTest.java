@@ -0,0 +1,29 @@
+package persistence.sql.ddl.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.sql.ddl.fixtures.TestEntityWithIndexes;
+import persistence.sql.definition.TableDefinition;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreateIndexQueryBuilderTest {
+
+    @Test
+    @DisplayName("Should create CREATE INDEX queries for @Index, unique constraints and unique columns")
+    void build() {
+        TableDefinition tableDefinition = new TableDefinition(TestEntityWithIndexes.class);
+
+        List<String> queries = tableDefinition.getIndexes().stream()
+                .map(index -> new CreateIndexQueryBuilder(tableDefinition.getTableName(), index).build())
+                .toList();
+
+        assertThat(queries).containsExactly(
+                "CREATE INDEX IF NOT EXISTS idx_indexed_name_age ON TestEntityWithIndexes (name, age DESC);",
+                "CREATE UNIQUE INDEX IF NOT EXISTS uk_TestEntityWithIndexes_name_age ON TestEntityWithIndexes (name, age);",
+                "CREATE UNIQUE INDEX IF NOT EXISTS uk_TestEntityWithIndexes_email_address ON TestEntityWithIndexes (email_address);"
+        );
+    }
+}
@@ -3,6 +3,8 @@ package persistence.sql.dml.query;
 import domain.Person;
 import org.junit.jupiter.api.Test;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DeleteQueryBuilderTest {
@@ -15,4 +17,13 @@ class DeleteQueryBuilderTest {
 
         assertThat(query).isEqualTo("DELETE FROM users WHERE id = 1;");
     }
+
+    @Test
+    void testDeleteByUuid() {
+        final String query = new DeleteQueryBuilder().build(
+                "events", "id", UUID.fromString("0190a5c3-7b2e-7c1a-8f00-000000000001")
+        );
+
+        assertThat(query).isEqualTo("DELETE FROM events WHERE id = '0190a5c3-7b2e-7c1a-8f00-000000000001';");
+    }
 }
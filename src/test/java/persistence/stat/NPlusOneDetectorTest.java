@@ -0,0 +1,124 @@
+package persistence.stat;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.event.EventSource;
+import persistence.fixtures.TestLazyOrder;
+import persistence.fixtures.TestLazyOrderItem;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.proxy.PersistentList;
+import persistence.session.EntityManager;
+import persistence.session.SchemaManagementToolCoordinator;
+import persistence.session.SessionFactoryImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class NPlusOneDetectorTest {
+
+    private static final String ITEMS = TestLazyOrder.class.getName() + ".orderItems";
+
+    private DatabaseServer server;
+    private SessionFactoryImpl sessionFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        sessionFactory = (SessionFactoryImpl) metadata.buildEntityManagerFactory();
+
+        EntityManager em = sessionFactory.openSession();
+        for (int i = 0; i < 3; i++) {
+            TestLazyOrder order = new TestLazyOrder("order" + i);
+            order.getOrderItems().add(new TestLazyOrderItem("product" + i, i));
+            em.persist(order);
+        }
+        em.close();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sessionFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("리터럴 값만 다른 쿼리는 같은 지문을 가진다.")
+    void fingerprint() {
+        assertThat(NPlusOneDetector.fingerprint("SELECT * FROM orders WHERE order_id = 1 AND name = 'a'"))
+                .isEqualTo(NPlusOneDetector.fingerprint("SELECT * FROM orders WHERE order_id = 20 AND name = 'b'"));
+    }
+
+    @Test
+    @DisplayName("같은 모양의 지연 로딩 쿼리가 임계치를 넘으면 예외를 던진다.")
+    void throwOverThreshold() throws Exception {
+        EntityManager em = sessionFactory.openSession();
+        List<TestLazyOrder> orders = List.of(
+                em.find(TestLazyOrder.class, 1L),
+                em.find(TestLazyOrder.class, 2L),
+                em.find(TestLazyOrder.class, 3L)
+        );
+        // the owners were loaded without detection, so collection loads are the only statements it sees
+        JdbcTemplate detecting = new JdbcTemplate(server.getConnection(), new StatisticsImpl(),
+                new NPlusOneDetector(2, NPlusOneDetector.Reaction.EXCEPTION));
+
+        persistentList(orders.get(0).getOrderItems()).load(detecting);
+        persistentList(orders.get(1).getOrderItems()).load(detecting);
+
+        assertThatThrownBy(() -> persistentList(orders.get(2).getOrderItems()).load(detecting))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(ITEMS)
+                .hasMessageContaining(NPlusOneDetectorTest.class.getName());
+    }
+
+    @Test
+    @DisplayName("세션과 통계 패키지의 사용자 클래스는 호출 위치로 인정한다.")
+    void userClassesBesideFramework() {
+        assertAll(
+                () -> assertThat(NPlusOneDetector.isFrameworkClass("persistence.session.SessionImpl")).isTrue(),
+                () -> assertThat(NPlusOneDetector.isFrameworkClass("persistence.session.SessionFactoryImpl$1")).isTrue(),
+                () -> assertThat(NPlusOneDetector.isFrameworkClass("jdbc.LazyFetchRowMapper")).isTrue(),
+                () -> assertThat(NPlusOneDetector.isFrameworkClass("persistence.session.OrderService")).isFalse(),
+                () -> assertThat(NPlusOneDetector.isFrameworkClass("persistence.stat.NPlusOneDetectorTest")).isFalse()
+        );
+    }
+
+    @Test
+    @DisplayName("연관관계별 지연 로딩 횟수로 배치 크기와 조인 페치를 추천한다.")
+    void suggestFetchStrategy() throws Exception {
+        sessionFactory.setNPlusOneDetection(2, NPlusOneDetector.Reaction.LOG);
+        EventSource source = (EventSource) sessionFactory.openSession();
+        for (long id = 1; id <= 3; id++) {
+            source.find(TestLazyOrder.class, id).getOrderItems().size();
+        }
+
+        NPlusOneDetector detector = source.getNPlusOneDetector();
+        FetchSuggestion suggestion = detector.getFetchSuggestions().get(0);
+
+        assertAll(
+                () -> assertThat(detector.getCollectionLoadCounts()).containsKey(ITEMS),
+                () -> assertThat(suggestion.association()).isEqualTo(ITEMS),
+                () -> assertThat(suggestion.collectionLoads()).isEqualTo(3L),
+                () -> assertThat(suggestion.ownerLoads()).isEqualTo(3L),
+                () -> assertThat(suggestion.batchSize()).isEqualTo(4),
+                () -> assertThat(suggestion.joinFetch()).isTrue()
+        );
+    }
+
+    private static PersistentList<?> persistentList(Object collection) {
+        return (PersistentList<?>) Proxy.getInvocationHandler(collection);
+    }
+}
@@ -0,0 +1,107 @@
+package persistence.stat;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.SimplePerson;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManager;
+import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaManagementToolCoordinator;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class StatisticsImplTest {
+
+    @Test
+    @DisplayName("비활성화 상태에서는 아무것도 집계하지 않는다.")
+    void disabled() {
+        StatisticsImpl statistics = new StatisticsImpl();
+
+        statistics.openSession();
+        statistics.executeStatement("SELECT 1", 1_000L);
+        statistics.loadEntity(SimplePerson.class.getName(), 1_000L);
+
+        assertAll(
+                () -> assertThat(statistics.getSessionOpenCount()).isZero(),
+                () -> assertThat(statistics.getExecuteStatementCount()).isZero(),
+                () -> assertThat(statistics.getEntityLoadCount()).isZero(),
+                () -> assertThat(statistics.getQueries()).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("활성화 상태에서는 엔티티별 조회 시간을 히스토그램으로 남긴다.")
+    void entityLoadTiming() {
+        StatisticsImpl statistics = new StatisticsImpl(true);
+
+        statistics.loadEntity(SimplePerson.class.getName(), 1_500L);
+        statistics.loadEntity(SimplePerson.class.getName(), 3_000_000L);
+        TimingHistogram histogram = statistics.getEntityLoadTiming(SimplePerson.class.getName());
+
+        assertAll(
+                () -> assertThat(statistics.getEntityLoadCount()).isEqualTo(2),
+                () -> assertThat(histogram.getCount()).isEqualTo(2),
+                () -> assertThat(histogram.getMaxNanos()).isEqualTo(3_000_000L),
+                () -> assertThat(histogram.getPercentileNanos(50)).isEqualTo(2_000L),
+                () -> assertThat(histogram.getPercentileNanos(100)).isGreaterThanOrEqualTo(3_000_000L)
+        );
+    }
+
+    @Test
+    @DisplayName("리터럴만 다른 쿼리는 하나의 히스토그램에 모은다.")
+    void queryTimingByShape() {
+        StatisticsImpl statistics = new StatisticsImpl(true);
+
+        statistics.executeStatement("SELECT * FROM users WHERE id = 1 AND name = 'a'", 1_000L);
+        statistics.executeStatement("SELECT * FROM users WHERE id = 2 AND name = 'b'", 2_000L);
+
+        assertAll(
+                () -> assertThat(statistics.getQueries()).containsExactly("SELECT * FROM users WHERE id = ? AND name = ?"),
+                () -> assertThat(statistics.getQueryTiming("SELECT * FROM users WHERE id = 3 AND name = 'c'").getCount())
+                        .isEqualTo(2)
+        );
+    }
+
+    @Test
+    @DisplayName("세션 팩토리의 통계는 세션, 쿼리, 엔티티 작업을 집계한다.")
+    void sessionFactoryStatistics() throws Exception {
+        DatabaseServer server = new H2();
+        server.start();
+        Metadata metadata = new MetadataImpl(server);
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        EntityManagerFactory entityManagerFactory = metadata.buildEntityManagerFactory();
+        Statistics statistics = entityManagerFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        EntityManager em = entityManagerFactory.openSession();
+        SimplePerson person = new SimplePerson("John");
+        em.persist(person);
+        person.setName("Jane");
+        em.merge(person);
+        em.flush();
+        em.clear();
+        em.find(SimplePerson.class, 1L);
+        em.close();
+
+        assertAll(
+                () -> assertThat(statistics.getSessionOpenCount()).isEqualTo(1),
+                () -> assertThat(statistics.getSessionCloseCount()).isEqualTo(1),
+                () -> assertThat(statistics.getEntityInsertCount()).isEqualTo(1),
+                () -> assertThat(statistics.getEntityUpdateCount()).isEqualTo(1),
+                () -> assertThat(statistics.getEntityLoadCount()).isEqualTo(1),
+                () -> assertThat(statistics.getFlushCount()).isEqualTo(1),
+                () -> assertThat(statistics.getExecuteStatementCount()).isEqualTo(3),
+                () -> assertThat(statistics.getEntityNames()).containsExactly(SimplePerson.class.getName())
+        );
+
+        entityManagerFactory.close();
+        server.stop();
+    }
+}
@@ -0,0 +1,124 @@
+package persistence.transaction;
+
+import database.DatabaseServer;
+import database.H2;
+import jdbc.JdbcTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import persistence.fixtures.SimplePerson;
+import persistence.meta.Metadata;
+import persistence.meta.MetadataImpl;
+import persistence.session.EntityManager;
+import persistence.session.EntityManagerFactory;
+import persistence.session.SchemaManagementToolCoordinator;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcTransactionTest {
+
+    private static DatabaseServer server;
+    private static Metadata metadata;
+    private static EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        server = new H2();
+        server.start();
+        metadata = new MetadataImpl(server);
+
+        SchemaManagementToolCoordinator.processDropTable(new JdbcTemplate(server.getConnection()), metadata);
+        entityManagerFactory = metadata.buildEntityManagerFactory();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        entityManagerFactory.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("commit 이후에는 다른 커넥션에서도 저장된 데이터를 조회할 수 있다.")
+    void commit() throws SQLException {
+        EntityManager em = entityManagerFactory.openSession();
+        EntityTransaction transaction = em.getTransaction();
+
+        transaction.begin();
+        em.persist(new SimplePerson("John"));
+        em.persist(new SimplePerson("Jane"));
+
+        assertThat(findPersonIds()).isEmpty();
+
+        transaction.commit();
+
+        assertThat(findPersonIds()).hasSize(2);
+        assertThat(transaction.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("rollback 하면 트랜잭션 안에서 저장한 데이터는 반영되지 않는다.")
+    void rollback() throws SQLException {
+        EntityManager em = entityManagerFactory.openSession();
+        EntityTransaction transaction = em.getTransaction();
+
+        transaction.begin();
+        em.persist(new SimplePerson("John"));
+        transaction.rollback();
+
+        assertThat(findPersonIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("savepoint 로 롤백하면 savepoint 이전 작업만 commit 된다.")
+    void rollbackToSavepoint() throws SQLException {
+        EntityManager em = entityManagerFactory.openSession();
+        EntityTransaction transaction = em.getTransaction();
+
+        transaction.begin();
+        em.persist(new SimplePerson("John"));
+        Savepoint savepoint = transaction.setSavepoint("before_jane");
+        em.persist(new SimplePerson("Jane"));
+        transaction.rollbackToSavepoint(savepoint);
+        transaction.commit();
+
+        assertThat(findPersonIds()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("rollbackOnly 가 설정된 트랜잭션은 commit 시 롤백되고 예외가 발생한다.")
+    void rollbackOnly() throws SQLException {
+        EntityManager em = entityManagerFactory.openSession();
+        EntityTransaction transaction = em.getTransaction();
+
+        transaction.begin();
+        em.persist(new SimplePerson("John"));
+        transaction.setRollbackOnly();
+
+        assertThrows(IllegalStateException.class, transaction::commit);
+        assertThat(findPersonIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이미 시작된 트랜잭션을 다시 시작하면 예외가 발생한다.")
+    void beginTwice() throws SQLException {
+        EntityManager em = entityManagerFactory.openSession();
+        EntityTransaction transaction = em.getTransaction();
+
+        transaction.begin();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, transaction::begin);
+        assertThat(e).hasMessage("Transaction already active");
+        transaction.rollback();
+    }
+
+    private List<Long> findPersonIds() throws SQLException {
+        return new JdbcTemplate(server.getConnection())
+                .query("SELECT id FROM SimplePerson", resultSet -> resultSet.getLong("id"));
+    }
+}